@@ -1,5 +1,6 @@
 package com.mygdx.sharkbait;
 
+import java.io.IOException;
 import java.util.Random;
 
 import com.badlogic.gdx.Gdx;
@@ -14,20 +15,13 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Timer;
 import com.badlogic.gdx.utils.Timer.Task;
-import com.mygdx.sharkbait.entities.Player;
-import com.mygdx.sharkbait.entities.Shark;
-import com.mygdx.sharkbait.moves.AStarMove;
-import com.mygdx.sharkbait.moves.Mover;
-import com.mygdx.sharkbait.moves.SimpleMove;
 import com.mygdx.sharkbait.powerups.Caffeine;
 import com.mygdx.sharkbait.powerups.Life;
 import com.mygdx.sharkbait.powerups.Powerup;
 import com.mygdx.sharkbait.powerups.Slow;
 import com.mygdx.sharkbait.utils.Assets;
-import com.mygdx.sharkbait.utils.Board;
 import com.mygdx.sharkbait.utils.Position;
-import com.mygdx.sharkbait.world.World;
-import com.mygdx.sharkbait.world.WorldListener;
+import com.mygdx.sharkbait.utils.Serialization;
 
 public class GameScreen extends ScreenAdapter implements Screen {	
     public static final int RUNNING = 0;
@@ -35,24 +29,13 @@ public class GameScreen extends ScreenAdapter implements Screen {
     public static final int LEVEL_END = 2;
     public static final int GAME_OVER = 3;
 
+    /* The game runs in fixed steps of this many seconds, whatever the frame rate. */
+    private static final float STEP = 1.0f / 60;
     /* 
-     * Base values for game parameters.
-     * 
-     * P is probability out of 100 and T is time in seconds. 
+     * Most steps run to catch up after a long frame. Time beyond that is
+     * dropped, so the game slows down rather than stalling on catch-up.
      */
-    private static final int DIMENSION = 11;
-    private static final int STARTING_LIVES = 3;
-    private static final int START_SURFACED_P = 50;
-    private static final int SURFACE_P = 50;
-    private static final int SUBMERGE_P = 50;
-    private static final float ROCK_CHANGE_T = 2.0f;
-    private static final float SHARK_MOVE_T = 1.0f;
-    
-    private static final int START_SURFACED_P_MIN = 20;
-    private static final int SURFACE_P_MIN = 25;
-    private static final int SUBMERGE_P_MAX = 75;
-    private static final float ROCK_CHANGE_T_MAX = 4.0f;
-    private static final float SHARK_MOVE_T_MAX = 0.5f;
+    private static final int MAX_STEPS = 8;
 
     private final SharkBait game;
     private final SaveState save;
@@ -62,19 +45,11 @@ public class GameScreen extends ScreenAdapter implements Screen {
     private final Rectangle resumeBounds;
     private final Rectangle menuBounds;
 
-    private World world;
+    private GameSession session;
     private WorldRenderer worldRenderer;
-    private Mover mover;
-    private int lives;
     private int state;
-    private int level;
-    private int startSurfacedProbability;
-    private int surfaceProbability;
-    private int submergeProbability;
-    private float rockChangeInterval;
-    private float rockChangeTick;
-    private float sharkMoveDelay;
-    private float generateMoveTick;
+    private float accumulator;
+    private Position tap;
 
     public GameScreen(SharkBait game, SaveState saveState) {
         this.game = game;
@@ -105,16 +80,16 @@ public class GameScreen extends ScreenAdapter implements Screen {
             save = saveState;
             load();
             if (state == LEVEL_END) {
-                ++level;
-                constructLevel();
+                nextLevel();
                 save.clear(); // Allows the previous level to be GCed.
             }
         } else {
             /* Starts new game. */
             save = new SaveState(SharkBait.SAVE);
-            lives = STARTING_LIVES;
-            level = 1;
-            constructLevel();
+            session = new GameSession(new GameSessionListener(), new Random().nextLong(),
+                    Assets.timings);
+            session.startRecording();
+            worldRenderer = new WorldRenderer(game.batch, session.getWorld());
         }
 
         state = RUNNING;
@@ -154,93 +129,23 @@ public class GameScreen extends ScreenAdapter implements Screen {
                 state = PAUSED;
                 return;
             }
-            /* Controls the player. */
-            if (world.getPlayer().getState() == Player.IDLE) {
-                float tileWidth = (float)SharkBait.WIDTH / DIMENSION;
-                float offsetY = (SharkBait.HEIGHT - SharkBait.WIDTH) / 2.0f;
-                int x = (int)(touch.x / tileWidth);
-                int y = (int)((SharkBait.HEIGHT - touch.y - offsetY) / tileWidth);
-                playerMove(new Position(x, y));
-            }
+            float tileWidth = (float)SharkBait.WIDTH / GameSession.DIMENSION;
+            float offsetY = (SharkBait.HEIGHT - SharkBait.WIDTH) / 2.0f;
+            int x = (int)(touch.x / tileWidth);
+            int y = (int)((SharkBait.HEIGHT - touch.y - offsetY) / tileWidth);
+            /* Handled by the next step, which may come in a later frame. */
+            tap = Position.of(x, y);
         }
 
-        /* Changes rocks periodically. */
-        rockChangeTick += delta;
-        if (rockChangeTick > rockChangeInterval) {
-            rockChangeTick -= rockChangeInterval;
-            world.changeRocks(surfaceProbability, submergeProbability);
-            if (mover instanceof AStarMove) {
-                mover.compute();
-            }
+        accumulator = Math.min(accumulator + delta, MAX_STEPS * STEP);
+        while (accumulator >= STEP && state == RUNNING) {
+            session.step(STEP, tap);
+            tap = null;
+            accumulator -= STEP;
         }
 
-        /* Controls the shark. */
-        generateMoveTick += delta;
-        if (generateMoveTick > sharkMoveDelay) {
-            generateMoveTick -= sharkMoveDelay;
-            sharkMove();
-        }
-        
-        world.update(delta);
-    }
-
-    private void playerMove(Position p) {
-        Player player = world.getPlayer();
-        Position playerPos = player.getPosition();
-        if (p.equals(playerPos)) {
-            player.dodge();
-            Assets.playSound(Assets.jumpSound);
-        } else if (world.validatePlayerMove(p)) {
-            player.move(p);
-            Assets.playSound(Assets.jumpSound);
-            /*
-             * If the shark uses the A* algorithm, his path must be
-             * computed whenever the player moves.
-             */
-            if (mover instanceof AStarMove) {
-                mover.compute();
-            }
-            /*
-             * Ensures that the player appears above the shark when
-             * jumping down from a horizontal attack.
-             */
-            Shark shark = world.getShark();
-            Position sharkPos = shark.getPosition();
-            if (Board.isAdjacent(playerPos, sharkPos)
-                    && playerPos.x != sharkPos.x && p.y > playerPos.y) {
-                shark.setZIndex(Shark.MISSED_Z_INDEX);
-                worldRenderer.zIndexSort();
-            }
-        }
-    }
-    
-    private void sharkMove() {
-        Shark shark = world.getShark();
-        Position sharkPos = shark.getPosition();
-        Position playerPos = world.getPlayer().getPosition();
-        if (shark.getState() == Shark.IDLE
-                && world.validateSharkAttack(playerPos)) {
-            shark.attack(playerPos);
-            Assets.playSound(Assets.splashSound);               
-            /*
-             * Ensures that the shark appears behind the player and the rock
-             * when attacking from above.
-             */
-            if (sharkPos.y < playerPos.y) {
-                shark.setZIndex(Shark.ABOVE_Z_INDEX);
-            } else {
-                shark.setZIndex(Shark.Z_INDEX);
-            }
-            worldRenderer.zIndexSort();
-        } else if (shark.getState() == Shark.IDLE 
-                || shark.getState() == Shark.MOVING){
-            if (mover instanceof SimpleMove) {
-                mover.compute();
-            }
-            Position next = mover.getNext();
-            if (next != null && !world.isRock(next)) {
-                shark.move(next);
-            }
+        if (state == GAME_OVER) {
+            saveRecording();
         }
     }
 
@@ -268,7 +173,8 @@ public class GameScreen extends ScreenAdapter implements Screen {
         
         drawPanel();
         
-        worldRenderer.render();
+        /* Sprites are drawn between the last two steps. */
+        worldRenderer.render(Math.min(1, accumulator / STEP));
         
         switch (state) {
         case RUNNING:
@@ -289,7 +195,7 @@ public class GameScreen extends ScreenAdapter implements Screen {
     }
 
     private void drawLevelEnd() {
-        drawMessage("LEVEL " + level + " COMPLETED");
+        drawMessage("LEVEL " + session.getLevel() + " COMPLETED");
     }
 
     private void drawRunning() {
@@ -319,12 +225,12 @@ public class GameScreen extends ScreenAdapter implements Screen {
     private void drawPanel() {
         float centerX = (float)SharkBait.WIDTH / 2;
 
-        String levelDisplay = "LEVEL " + level;
+        String levelDisplay = "LEVEL " + session.getLevel();
         TextBounds levelDisplayBounds = game.font.getBounds(levelDisplay);
         float levelDisplayX = centerX - levelDisplayBounds.width / 2;
         float levelDisplayY = (float)(SharkBait.HEIGHT - SharkBait.WIDTH) / 4 + 25;
 
-        String livesDisplay = "LIVES: " + lives;
+        String livesDisplay = "LIVES: " + session.getLives();
         TextBounds livesDisplayBounds = game.font.getBounds(livesDisplay);
         float livesDisplayX = centerX - livesDisplayBounds.width / 2;
         float livesDisplayY = levelDisplayY - 25;
@@ -334,109 +240,76 @@ public class GameScreen extends ScreenAdapter implements Screen {
         game.font.draw(game.batch, livesDisplay, livesDisplayX, livesDisplayY);
     }
 
-    /** Creates the next level. */
-    private void constructLevel() {
-        resetTimers();
-        adjustDifficulty();
-
-        world = new World(new GameWorldListener(), DIMENSION, startSurfacedProbability);
-        world.getShark().setMoveDelay(sharkMoveDelay);
-        
-        /* 
-         * The probability of a life appearing is inversely proportional to
-         * the number of lives the player has.
-         */
-        Random rand = new Random();
-        if (rand.nextInt(lives * 2) == 0) {
-            world.addPowerup(new Life());
-        }
-
-        mover = constructMover(world, level);
-        if (mover instanceof AStarMove) {
-            mover.compute();
-        }
-        
-        worldRenderer = new WorldRenderer(game.batch, world);
-    }
-
-    /**
-     * Resets in-game timers. 
-     * Should be called at the start of level construction.
-     */
-    private void resetTimers() {
-        rockChangeTick = 0;
-        generateMoveTick = 0;
-    }
-
-    /**
-     * Sets the difficulty of the game by adjusting some parameters.
-     * Should be called at the start of level construction.
-     */ 
-    private void adjustDifficulty() {
-        int difficulty = level - 1;
-        startSurfacedProbability = Math.max(START_SURFACED_P_MIN, START_SURFACED_P - difficulty);
-        surfaceProbability = Math.max(SURFACE_P_MIN, SURFACE_P - difficulty);
-        submergeProbability = Math.min(SUBMERGE_P_MAX, SUBMERGE_P + difficulty);
-        rockChangeInterval = Math.min(ROCK_CHANGE_T_MAX, ROCK_CHANGE_T + difficulty * 0.05f);
-        sharkMoveDelay = Math.max(SHARK_MOVE_T_MAX, SHARK_MOVE_T - difficulty * 0.025f);
-    }
-
-    /** Returns a move generator for the shark. */
-    private Mover constructMover(World world, int level) {
-        return level < 10 ? new SimpleMove(world) : new AStarMove(world);
+    /** Moves on to the next level. */
+    private void nextLevel() {
+        session.nextLevel();
+        accumulator = 0;
+        tap = null;
+        worldRenderer = new WorldRenderer(game.batch, session.getWorld());
     }
 
     /** Saves game state to the save file. */
     private void save() {
-        save.setWorld(world);
+        save.setSeed(session.getSeed());
+        save.setWorld(session.getWorld());
         save.setState(state);
-        save.setLevel(level);
-        save.setLives(lives);
-        save.setRockChangeTick(rockChangeTick);
-        save.setGenerateMoveTick(generateMoveTick);
+        save.setLevel(session.getLevel());
+        save.setLives(session.getLives());
+        save.setRockChangeTick(session.getRockChangeTick());
+        save.setGenerateMoveTick(session.getGenerateMoveTick());
         save.save();
+        saveRecording();
     }
 
     /** Reconstructs game from saved data. */
     private void load() {
-        world = save.getWorld();
         state = save.getState();
-        level = save.getLevel();
-        lives = save.getLives();
-        rockChangeTick = save.getRockChangeTick();
-        generateMoveTick = save.getGenerateMoveTick();
-
-        adjustDifficulty();
+        session = new GameSession(new GameSessionListener(), save.getSeed(), Assets.timings,
+                save.getWorld(), save.getLevel(), save.getLives(), save.getRockChangeTick(),
+                save.getGenerateMoveTick());
+        worldRenderer = new WorldRenderer(game.batch, session.getWorld());
+    }
 
-        /* This value might have been changed by a powerup. */
-        sharkMoveDelay = world.getShark().getMoveDelay();
-        
-        mover = constructMover(world, level);
-        if (mover instanceof AStarMove) {
-            mover.compute();
+    /**
+     * Writes the recording of the game, if it is recorded, to the replay
+     * file so that the game can be played again with a replay runner.
+     */
+    private void saveRecording() {
+        Recording recording = session.getRecording();
+        if (recording == null) {
+            return;
+        }
+        recording.setStateHash(session.getStateHash());
+        try {
+            Gdx.files.local(SharkBait.REPLAY).writeString(Serialization.toString(recording), false);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        
-        /* We need to reattach the listener since it is not serializable. */
-        world.registerListener(new GameWorldListener());
-        
-        worldRenderer = new WorldRenderer(game.batch, world);
     }
 
-    private class GameWorldListener implements WorldListener {
+    private class GameSessionListener implements SessionListener {
+        @Override
+        public void playerJumped() {
+            Assets.playSound(Assets.jumpSound);
+        }
+
+        @Override
+        public void sharkAttacked() {
+            Assets.playSound(Assets.splashSound);
+        }
+
+        @Override
+        public void spritesReordered() {
+            worldRenderer.zIndexSort();
+        }
+
         @Override
         public void powerupFound(Powerup p) {
             if (p instanceof Life) {
-                ++lives;
                 Assets.playSound(Assets.lifeSound);
             } else if (p instanceof Caffeine) {
-                /* Increases the player's maximum jump rate. */
-                float speed = world.getPlayer().getSpeed();
-                world.getPlayer().setSpeed(speed + 1);
                 Assets.playSound(Assets.caffeineSound);
             } else if (p instanceof Slow) {
-                /* Slows the shark to half of his current speed. */
-                sharkMoveDelay *= 2;
-                world.getShark().setMoveDelay(sharkMoveDelay);
                 Assets.playSound(Assets.slowSound);
             }
 
@@ -448,7 +321,7 @@ public class GameScreen extends ScreenAdapter implements Screen {
         @Override
         public void playerHit() {
             Assets.playSound(Assets.chompSound);
-            if (--lives == 0) {
+            if (session.getLives() == 0) {
                 state = GAME_OVER;
                 Assets.playSound(Assets.gameOverSound);
                 save.clear();
@@ -469,9 +342,9 @@ public class GameScreen extends ScreenAdapter implements Screen {
         public void levelEnd() {
             state = LEVEL_END;
             Assets.playSound(Assets.winSound);
-            if (level > Settings.getHighestLevel()) {
+            if (session.getLevel() > Settings.getHighestLevel()) {
                 /* Sets the new highest level record. */
-                Settings.setHighestLevel(level);
+                Settings.setHighestLevel(session.getLevel());
                 Settings.save();
             }
             
@@ -479,12 +352,10 @@ public class GameScreen extends ScreenAdapter implements Screen {
             Timer.schedule(new Task() {
                 @Override
                 public void run() {
-                    ++level;
-                    constructLevel();
+                    nextLevel();
                     state = RUNNING;
                 }
             }, 3);
         }
     }
 }
-
@@ -58,6 +58,14 @@ public class SaveState {
         preferences.flush();
     }
     
+    public long getSeed() {
+        return gameState.seed;
+    }
+
+    public void setSeed(long seed) {
+        gameState.seed = seed;
+    }
+
     public World getWorld() {
         return gameState.world;
     }
@@ -109,6 +117,7 @@ public class SaveState {
     private static class GameState implements Serializable {
         static final long serialVersionUID = 1;
         
+        long seed;
         World world;
         int state;
         int level;
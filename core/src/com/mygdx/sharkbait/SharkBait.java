@@ -11,6 +11,7 @@ public class SharkBait extends Game {
     
     public static final String SAVE = ".sharkbait_save";
     public static final String SETTINGS = ".sharkbait_settings";
+    public static final String REPLAY = ".sharkbait_replay";
     
     public SpriteBatch batch;
     public BitmapFont font;
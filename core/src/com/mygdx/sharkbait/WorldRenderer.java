@@ -5,14 +5,26 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.sharkbait.entities.Island;
+import com.mygdx.sharkbait.entities.Player;
 import com.mygdx.sharkbait.entities.Rock;
+import com.mygdx.sharkbait.entities.Shark;
 import com.mygdx.sharkbait.entities.TileSprite;
-import com.mygdx.sharkbait.entities.Water;
+import com.mygdx.sharkbait.powerups.Caffeine;
+import com.mygdx.sharkbait.powerups.Life;
 import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.powerups.Slow;
+import com.mygdx.sharkbait.utils.Assets;
 import com.mygdx.sharkbait.world.World;
 
-/** Draws the game world. */
+/**
+ * Draws the game world. The world only knows the state of its sprites; the
+ * frames which show that state are picked here.
+ */
 public class WorldRenderer {
     private final SpriteBatch batch;
     private final World world;
@@ -36,23 +48,46 @@ public class WorldRenderer {
         zIndexSort();
     }
 
-    /** Draws sprites. */
-    public void render() {
+    /**
+     * Draws sprites.
+     * 
+     * @param alpha how far the world's sprites are drawn from where they were
+     *        before the last update (0) to where they are now (1)
+     */
+    public void render(float alpha) {
         /* More accurate but causes distortion. */
         //float tileWidth = (float)SharkBait.WIDTH / world.getDimension();
         float tileWidth = SharkBait.WIDTH / world.getDimension();
         
-        /* Water gets drawn first. */
-        for (Water w : world.getWater()) {
-            w.draw(batch, tileWidth);
+        int dimension = world.getDimension();
+        int tiles = dimension * dimension;
+        
+        /* Water gets drawn first. All water is in lockstep. */
+        TextureRegion water = Assets.water.getKeyFrame(world.getClock());
+        for (int y = 0; y < dimension; ++y) {
+            for (int x = 0; x < dimension; ++x) {
+                drawTile(batch, water, x, y, tileWidth);
+            }
         }
         
         /* The island gets drawn after the water but before everything else. */
-        world.getIsland().draw(batch, tileWidth);
+        Island island = world.getIsland();
+        drawTile(batch, Assets.island, island.getDrawX(alpha), island.getDrawY(alpha), tileWidth);
 
-        /* All other sprites get drawn in the order of their z-indices. */
-        for (TileSprite s : zOrderedSprites) {
-            s.draw(batch, tileWidth);
+        /*
+         * All other sprites get drawn in the order of their z-indices, with
+         * the rock layer drawn in between at its own z-index.
+         */
+        int i = 0;
+        while (i < zOrderedSprites.size() && zOrderedSprites.get(i).getZIndex() < Rock.Z_INDEX) {
+            drawSprite(zOrderedSprites.get(i++), tileWidth, alpha);
+        }
+        for (int cell = 0; cell < tiles; ++cell) {
+            drawRock(cell % dimension, cell / dimension, world.getRockState(cell),
+                    world.getRockTime(cell), tileWidth);
+        }
+        while (i < zOrderedSprites.size()) {
+            drawSprite(zOrderedSprites.get(i++), tileWidth, alpha);
         }
     }
 
@@ -61,10 +96,8 @@ public class WorldRenderer {
         zOrderedSprites.clear();
 
         zOrderedSprites.add(world.getPlayer());
-        zOrderedSprites.add(world.getShark());
-
-        for (Rock r : world.getRocks()) {
-            zOrderedSprites.add(r);
+        for (Shark s : world.getSharks()) {
+            zOrderedSprites.add(s);
         }
 
         for (Powerup p : world.getPowerups()) {
@@ -77,6 +110,110 @@ public class WorldRenderer {
         Collections.sort(zOrderedSprites, zIndexCmp);
     }
 
+    private void drawSprite(TileSprite sprite, float tileWidth, float alpha) {
+        float x = sprite.getDrawX(alpha);
+        float y = sprite.getDrawY(alpha);
+        if (sprite instanceof Player) {
+            drawPlayer((Player)sprite, x, y, tileWidth);
+        } else if (sprite instanceof Shark) {
+            drawShark((Shark)sprite, x, y, tileWidth);
+        } else if (sprite instanceof Life) {
+            drawTile(batch, Assets.life.getKeyFrame(sprite.getStateTime()), x, y, tileWidth);
+        } else if (sprite instanceof Caffeine) {
+            drawTile(batch, Assets.caffeine.getKeyFrame(sprite.getStateTime()), x, y, tileWidth);
+        } else if (sprite instanceof Slow) {
+            drawTile(batch, Assets.slow.getKeyFrame(sprite.getStateTime()), x, y, tileWidth);
+        }
+    }
+
+    private void drawPlayer(Player player, float x, float y, float tileWidth) {
+        TextureRegion keyFrame = null;
+        switch (player.getState()) {
+        case Player.IDLE:
+            keyFrame = Assets.player;
+            break;
+        case Player.DODGING:
+            keyFrame = Assets.playerDodge.getKeyFrame(player.getStateTime());
+            break;
+        case Player.MOVING:
+            keyFrame = Assets.playerMove.getKeyFrame(player.getStateTime() * player.getSpeed());
+            break;
+        }
+
+        if (player.isMirrored()) {
+            keyFrame = new TextureRegion(keyFrame);
+            keyFrame.flip(true, false);
+        }
+
+        if (player.isTransparent()) {
+            Color c = batch.getColor();
+            batch.setColor(c.r, c.g, c.b, 0.2f);
+            drawTile(batch, keyFrame, x, y, tileWidth);
+            batch.setColor(c);
+        } else {
+            drawTile(batch, keyFrame, x, y, tileWidth);
+        }
+    }
+
+    private void drawShark(Shark shark, float x, float y, float tileWidth) {
+        TextureRegion keyFrame = null;
+        switch (shark.getState()) {
+        case Shark.IDLE:
+        case Shark.MOVING:
+            keyFrame = Assets.shark.getKeyFrame(shark.getStateTime());
+            break;
+        case Shark.SURFACING:
+            keyFrame = Assets.sharkSurface.getKeyFrame(shark.getStateTime());
+            break;
+        case Shark.ATTACKED:
+        case Shark.SUBMERGING:
+            keyFrame = Assets.sharkSubmerge.getKeyFrame(shark.getStateTime());
+            break;
+        }
+
+        if (shark.isMirrored()) {
+            keyFrame = new TextureRegion(keyFrame);
+            keyFrame.flip(true, false);
+        }
+
+        drawTile(batch, keyFrame, x, y, tileWidth);
+    }
+
+    /** Draws the rock of a tile, if there is one to draw. */
+    private void drawRock(int x, int y, int state, float stateTime, float tileWidth) {
+        TextureRegion keyFrame;
+        switch (state) {
+        case Rock.SURFACED:
+            keyFrame = Assets.rock;
+            break;
+        case Rock.SURFACING:
+            keyFrame = Assets.rockSurface.getKeyFrame(stateTime);
+            break;
+        case Rock.SUBMERGING:
+            keyFrame = Assets.rockSink.getKeyFrame(stateTime);
+            break;
+        default:
+            return; // Draw nothing.
+        }
+        drawTile(batch, keyFrame, x, y, tileWidth);
+    }
+
+    /**
+     * Draws a texture on a tile.
+     * 
+     * @param batch the sprite batcher
+     * @param keyFrame the texture to draw
+     * @param x the column of the tile, which may be fractional
+     * @param y the row of the tile, which may be fractional
+     * @param tileWidth the width of a tile (screen width divided by dimension)
+     */
+    public static void drawTile(Batch batch, TextureRegion keyFrame, float x, float y,
+            float tileWidth) {
+        batch.draw(keyFrame, tileWidth * x,
+                SharkBait.HEIGHT - (SharkBait.HEIGHT - SharkBait.WIDTH) / 2
+                - tileWidth * (y + 1), tileWidth, tileWidth);
+    }
+
     private static class ZIndexComparator implements Comparator<TileSprite> {
         @Override
         public int compare(TileSprite lhs, TileSprite rhs) {
@@ -6,6 +6,8 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.mygdx.sharkbait.Settings;
+import com.mygdx.sharkbait.entities.AnimationTiming;
+import com.mygdx.sharkbait.entities.Timings;
 
 /**
  * Holds menu and game screen resources (images, sounds, animations, etc.).
@@ -25,6 +27,9 @@ public final class Assets {
     public static Animation caffeine;
     public static Animation slow;
 
+    /** The timings of the animations the rules wait on. */
+    public static Timings timings;
+
     public static TextureRegion rock;
     public static TextureRegion player;
     public static TextureRegion island;
@@ -117,6 +122,10 @@ public final class Assets {
         sharkSubmerge = new Animation(0.53f / sharkSurfaceFrames.length, sharkSurfaceFrames);
         sharkSubmerge.setPlayMode(Animation.PlayMode.REVERSED);
 
+        /* The rules wait on these animations. */
+        timings = new Timings(timing(rockSurface), timing(rockSink), timing(playerMove),
+                timing(playerDodge), timing(sharkSurface), timing(sharkSubmerge));
+
         selectSound = loadSound("data/select.wav");
         jumpSound = loadSound("data/jump.wav");
         lifeSound = loadSound("data/life.wav");
@@ -145,6 +154,11 @@ public final class Assets {
         return TextureRegion.split(texture, tileWidth, tileHeight)[0];
     }
 
+    /** Returns the timing of an animation. */
+    public static AnimationTiming timing(Animation animation) {
+        return new AnimationTiming(animation.frameDuration, animation.getKeyFrames().length);
+    }
+
     /** Loads and returns a sound from the specified file. */
     public static Sound loadSound(String filename) {
         return Gdx.audio.newSound(Gdx.files.internal(filename));
@@ -0,0 +1,186 @@
+package com.mygdx.sharkbait.desktop;
+
+import java.util.List;
+import java.util.Random;
+
+import com.mygdx.sharkbait.moves.AStarMove;
+import com.mygdx.sharkbait.moves.AStarSearch;
+import com.mygdx.sharkbait.moves.Landmarks;
+import com.mygdx.sharkbait.moves.PathCache;
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.World;
+import com.mygdx.sharkbait.world.WorldListener;
+
+/**
+ * Compares shark searches with and without landmarks, and with a binary heap
+ * or a bucket queue as the open list. For every board size and rock density,
+ * random searches are run on boards whose rocks keep changing, and the number
+ * of expanded cells and the running time are reported. All variants find
+ * shortest paths, so the lengths of the paths which reach their destination
+ * must match.
+ *
+ * <p>Finally, a shark chases a hopping player through a long session with and
+ * without a {@link PathCache}, and the cache's counters are reported to show
+ * whether it pays for itself.
+ */
+public class PathfindingBenchmark {
+    private static final int[] DIMENSIONS = { 11, 64, 256 };
+    private static final int[] SURFACED_P = { 30, 50, 70 };
+    private static final int LANDMARKS = 4;
+    private static final int ROUNDS = 20;
+    private static final int SEARCHES = 50;
+    private static final int SESSION_STEPS = 20000;
+    private static final int CACHE_SIZE = 256;
+
+    public static void main(String[] arg) {
+        System.out.println("Heuristics (L1 = Manhattan distance, ALT = landmarks)");
+        System.out.println("dimension surfaced      expanded(L1)     expanded(ALT)   ms(L1)  ms(ALT)");
+        for (int dimension : DIMENSIONS) {
+            for (int surfacedProbability : SURFACED_P) {
+                AStarSearch alt = new AStarSearch(dimension);
+                alt.setLandmarks(new Landmarks(dimension, LANDMARKS));
+                run(dimension, surfacedProbability, new AStarSearch(dimension), alt);
+            }
+        }
+
+        System.out.println();
+        System.out.println("Open lists");
+        System.out.println("dimension surfaced  expanded(heap) expanded(buckets) ms(heap) ms(buckets)");
+        for (int dimension : DIMENSIONS) {
+            for (int surfacedProbability : SURFACED_P) {
+                run(dimension, surfacedProbability,
+                        new AStarSearch(dimension, AStarSearch.BINARY_HEAP),
+                        new AStarSearch(dimension, AStarSearch.BUCKET_QUEUE));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Path cache");
+        System.out.println("dimension     hits   misses evictions ms(no cache) ms(cache)");
+        for (int dimension : DIMENSIONS) {
+            runSession(dimension);
+        }
+    }
+
+    /**
+     * Plays a session in which the player hops from rock to rock, rocks
+     * change every few hops and the shark follows its path. The path is
+     * computed by a mover with a cache and by one without.
+     */
+    private static void runSession(int dimension) {
+        Random rand = new Random(dimension);
+        World world = new World(new NullListener(), dimension, 50, 1, dimension);
+        AStarMove plain = new AStarMove(world);
+        AStarMove cached = new AStarMove(world);
+        PathCache cache = new PathCache(CACHE_SIZE);
+        cached.setCache(cache);
+
+        long plainNanos = 0;
+        long cachedNanos = 0;
+        for (int step = 0; step < SESSION_STEPS; ++step) {
+            if (step % 4 == 0) {
+                world.changeRocks(50, 50);
+            } else {
+                List<Position> adjacent = Board.getAdjacent(world.getPlayerPosition(), dimension);
+                Position next = adjacent.get(rand.nextInt(adjacent.size()));
+                if (world.validatePlayerMove(next) && !next.equals(world.getGoal())) {
+                    world.getPlayer().move(next);
+                }
+            }
+
+            long start = System.nanoTime();
+            plain.compute();
+            plainNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            cached.compute();
+            cachedNanos += System.nanoTime() - start;
+
+            /* The shark moves every other step. */
+            Position next = plain.getNext();
+            if (step % 2 == 1 && next != null && !next.equals(world.getPlayerPosition())
+                    && world.isSharkTraversable(next)) {
+                world.getShark().move(next);
+            }
+        }
+
+        System.out.printf("%9d %8d %8d %9d %12.1f %9.1f%n", dimension, cache.getHits(),
+                cache.getMisses(), cache.getEvictions(), plainNanos / 1e6, cachedNanos / 1e6);
+    }
+
+    /** Runs the same searches with a baseline and a contender. */
+    private static void run(int dimension, int surfacedProbability,
+            AStarSearch baseline, AStarSearch contender) {
+        Random rand = new Random(dimension * 100 + surfacedProbability);
+        World world = new World(new NullListener(), dimension, surfacedProbability, 1,
+                dimension * 100 + surfacedProbability);
+        int[] path = new int[dimension * dimension];
+        int[] cells = new int[dimension * dimension];
+
+        long baselineExpanded = 0;
+        long contenderExpanded = 0;
+        long baselineNanos = 0;
+        long contenderNanos = 0;
+        for (int round = 0; round < ROUNDS; ++round) {
+            world.changeRocks(surfacedProbability, 100 - surfacedProbability);
+            int open = 0;
+            for (int cell = 0; cell < cells.length; ++cell) {
+                if (world.isSharkTraversable(cell)) {
+                    cells[open++] = cell;
+                }
+            }
+            if (open < 2) {
+                continue;
+            }
+            for (int i = 0; i < SEARCHES; ++i) {
+                int src = cells[rand.nextInt(open)];
+                int dst = cells[rand.nextInt(open)];
+
+                long start = System.nanoTime();
+                int baselineLength = baseline.search(world, src, dst, path);
+                long baselineTime = System.nanoTime() - start;
+                boolean baselineFound = baselineLength > 0 && path[0] == dst;
+
+                start = System.nanoTime();
+                int contenderLength = contender.search(world, src, dst, path);
+                long contenderTime = System.nanoTime() - start;
+                boolean contenderFound = contenderLength > 0 && path[0] == dst;
+
+                if (baselineFound != contenderFound || contenderFound && baselineLength != contenderLength) {
+                    throw new IllegalStateException("Path lengths differ: "
+                            + baselineLength + " and " + contenderLength);
+                }
+
+                /*
+                 * Searches for unreachable cells expand everything reachable
+                 * whatever the heuristic, so they are left out.
+                 */
+                if (baselineFound) {
+                    baselineExpanded += baseline.getExpanded();
+                    contenderExpanded += contender.getExpanded();
+                    baselineNanos += baselineTime;
+                    contenderNanos += contenderTime;
+                }
+            }
+        }
+
+        System.out.printf("%9d %8d %17d %17d %8.1f %8.1f%n", dimension, surfacedProbability,
+                baselineExpanded, contenderExpanded, baselineNanos / 1e6, contenderNanos / 1e6);
+    }
+
+    private static class NullListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup powerup) {
+        }
+
+        @Override
+        public void playerHit() {
+        }
+
+        @Override
+        public void levelEnd() {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mygdx.sharkbait.desktop;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import com.mygdx.sharkbait.GameSession;
+import com.mygdx.sharkbait.Recording;
+import com.mygdx.sharkbait.SessionListener;
+import com.mygdx.sharkbait.SharkBait;
+import com.mygdx.sharkbait.entities.Timings;
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.utils.Serialization;
+
+/**
+ * Plays a recorded game again, frame by frame and as fast as possible, and
+ * reports how long the frames took to simulate. Only the game's rules run,
+ * so no window is opened and no assets are loaded.
+ *
+ * <p>The replay file is written by the game when a recorded game is saved or
+ * lost. Its path can be given as the first argument.
+ */
+public class ReplayRunner {
+    public static void main(String[] arg) {
+        String filename = arg.length > 0 ? arg[0] : SharkBait.REPLAY;
+        try {
+            Recording recording = (Recording)Serialization.fromString(read(filename));
+            replay(recording);
+        } catch (Exception e) {
+            System.out.println("Could not replay " + filename + ": " + e);
+        }
+    }
+
+    /** Steps a new session through every frame of a recording. */
+    private static void replay(Recording recording) {
+        ReplayListener listener = new ReplayListener();
+        GameSession session = new GameSession(listener, recording.getSeed(), Timings.DEFAULT,
+                recording.getSharkCount(), recording.getSearchBudget());
+        int frames = recording.getFrameCount();
+        long slowest = 0;
+        int slowestFrame = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; ++i) {
+            /* The game moves on to the next level between frames. */
+            if (listener.levelEnded) {
+                listener.levelEnded = false;
+                session.nextLevel();
+            }
+            int tap = recording.getTap(i);
+            Position p = tap == Recording.NO_TAP ? null
+                    : Position.of(tap % GameSession.DIMENSION, tap / GameSession.DIMENSION);
+
+            long frameStart = System.nanoTime();
+            session.step(recording.getDelta(i), p);
+            long frameTime = System.nanoTime() - frameStart;
+            if (frameTime > slowest) {
+                slowest = frameTime;
+                slowestFrame = i;
+            }
+        }
+        long total = System.nanoTime() - start;
+
+        System.out.println("Seed:          " + recording.getSeed());
+        System.out.println("Frames:        " + frames);
+        System.out.println("Level reached: " + session.getLevel());
+        System.out.println("Lives left:    " + session.getLives());
+        System.out.printf("Total:         %.2f ms%n", total / 1e6);
+        System.out.printf("Slowest frame: %d (%.3f ms)%n", slowestFrame, slowest / 1e6);
+        System.out.println(session.getStateHash() == recording.getStateHash()
+                ? "The replay matches the recorded game."
+                : "The replay does NOT match the recorded game.");
+    }
+
+    private static String read(String filename) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(new File(filename)), "UTF-8");
+        try {
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[8192];
+            for (int n; (n = reader.read(buffer)) != -1;) {
+                sb.append(buffer, 0, n);
+            }
+            return sb.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /** Keeps track of level ends; everything else is presentation. */
+    private static class ReplayListener implements SessionListener {
+        boolean levelEnded;
+
+        @Override
+        public void playerJumped() {}
+
+        @Override
+        public void sharkAttacked() {}
+
+        @Override
+        public void spritesReordered() {}
+
+        @Override
+        public void powerupFound(Powerup powerup) {}
+
+        @Override
+        public void playerHit() {}
+
+        @Override
+        public void levelEnd() {
+            levelEnded = true;
+        }
+    }
+}
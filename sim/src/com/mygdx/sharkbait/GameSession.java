@@ -0,0 +1,505 @@
+package com.mygdx.sharkbait;
+
+import java.util.List;
+import java.util.Random;
+
+import com.mygdx.sharkbait.entities.Player;
+import com.mygdx.sharkbait.entities.Shark;
+import com.mygdx.sharkbait.entities.Timings;
+import com.mygdx.sharkbait.moves.AStarMove;
+import com.mygdx.sharkbait.moves.CooperativeMove;
+import com.mygdx.sharkbait.moves.DStarLiteMove;
+import com.mygdx.sharkbait.moves.MctsMove;
+import com.mygdx.sharkbait.moves.Mover;
+import com.mygdx.sharkbait.moves.SimpleMove;
+import com.mygdx.sharkbait.powerups.Caffeine;
+import com.mygdx.sharkbait.powerups.Life;
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.powerups.Slow;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.utils.Seeds;
+import com.mygdx.sharkbait.world.World;
+import com.mygdx.sharkbait.world.WorldListener;
+
+/**
+ * The rules of a game from level to level: difficulty, timers, lives,
+ * powerup effects and shark control. Every random choice comes from the
+ * game's seed, split into one stream per purpose and level, so a session
+ * created with the same seed and stepped with the same frames plays out the
+ * same. This is what makes a {@link Recording} replayable. The exception is
+ * the lone shark of the hardest levels, who searches for a fixed time in the
+ * background, so how well he plays depends on the machine.
+ */
+public class GameSession {
+    /** Width of the board in cells. */
+    public static final int DIMENSION = 11;
+
+    /*
+     * Base values for game parameters.
+     *
+     * P is probability out of 100 and T is time in seconds.
+     */
+    private static final int STARTING_LIVES = 3;
+    private static final int START_SURFACED_P = 50;
+    private static final int SURFACE_P = 50;
+    private static final int SUBMERGE_P = 50;
+    private static final float ROCK_CHANGE_T = 2.0f;
+    private static final float SHARK_MOVE_T = 1.0f;
+    private static final int SHARKS = 1;
+
+    private static final int START_SURFACED_P_MIN = 20;
+    private static final int SURFACE_P_MIN = 25;
+    private static final int SUBMERGE_P_MAX = 75;
+    private static final float ROCK_CHANGE_T_MAX = 4.0f;
+    private static final float SHARK_MOVE_T_MAX = 0.5f;
+
+    /*
+     * From the level on which the shark stops getting faster, he searches
+     * for part of his move delay instead, unless searches are budgeted.
+     */
+    private static final int MCTS_LEVEL = 21;
+    private static final float MCTS_BUDGET_FRACTION = 0.5f;
+
+    /* Streams split from the seed, one of each per level. */
+    private static final int WORLD_STREAM = 0;
+    private static final int SHARK_STREAM = 1;
+    private static final int POWERUP_STREAM = 2;
+
+    private final SessionListener listener;
+    private final long seed;
+    private final Timings timings;
+    private final int sharkCount;
+    private final int searchBudget;
+    private Recording recording;
+
+    private World world;
+    private Mover mover;
+    private CooperativeMove squad;
+    private int lives;
+    private int level;
+    private int startSurfacedProbability;
+    private int surfaceProbability;
+    private int submergeProbability;
+    private float rockChangeInterval;
+    private float rockChangeTick;
+    private float sharkMoveDelay;
+    private float generateMoveTick;
+
+    /**
+     * Starts a new game on its first level with the timings of the shipped
+     * animations.
+     *
+     * @throws NullPointerException if listener is null
+     */
+    public GameSession(SessionListener listener, long seed) {
+        this(listener, seed, Timings.DEFAULT);
+    }
+
+    /**
+     * Starts a new game on its first level.
+     *
+     * @param  timings the timings of the animations the rules wait on
+     * @throws NullPointerException if listener or timings is null
+     */
+    public GameSession(SessionListener listener, long seed, Timings timings) {
+        this(listener, seed, timings, SHARKS);
+    }
+
+    /**
+     * Starts a new game on its first level with several sharks on every
+     * level.
+     *
+     * @param  timings the timings of the animations the rules wait on
+     * @param  sharkCount the number of sharks
+     * @throws NullPointerException if listener or timings is null
+     * @throws IllegalArgumentException if sharkCount is not between 1 and
+     *         4 * DIMENSION - 7
+     */
+    public GameSession(SessionListener listener, long seed, Timings timings, int sharkCount) {
+        this(listener, seed, timings, sharkCount, 0);
+    }
+
+    /**
+     * Starts a new game on its first level whose lone shark plans with a
+     * search spread over several frames on the later levels.
+     *
+     * @param  timings the timings of the animations the rules wait on
+     * @param  sharkCount the number of sharks
+     * @param  searchBudget the maximum number of cells the shark's search
+     *         expands per frame, or 0 to plan with D* Lite
+     * @throws NullPointerException if listener or timings is null
+     * @throws IllegalArgumentException if sharkCount is not between 1 and
+     *         4 * DIMENSION - 7 or if searchBudget is negative
+     */
+    public GameSession(SessionListener listener, long seed, Timings timings, int sharkCount,
+            int searchBudget) {
+        if (listener == null || timings == null) {
+            throw new NullPointerException();
+        }
+        if (sharkCount < 1 || sharkCount > 4 * DIMENSION - 7) {
+            throw new IllegalArgumentException("Shark count must be between 1 and 4 * DIMENSION - 7");
+        }
+        if (searchBudget < 0) {
+            throw new IllegalArgumentException("Search budget must not be negative");
+        }
+        this.listener = listener;
+        this.seed = seed;
+        this.timings = timings;
+        this.sharkCount = sharkCount;
+        this.searchBudget = searchBudget;
+        lives = STARTING_LIVES;
+        level = 1;
+        constructLevel();
+    }
+
+    /**
+     * Resumes a saved game. A resumed game is not recorded: its sharks do not
+     * pick up where they left off, so it could not be replayed from its seed.
+     * Its shark plans without a search budget.
+     *
+     * @param  seed the seed of the game
+     * @param  timings the timings of the animations the rules wait on
+     * @param  world the world of the current level
+     * @param  level the current level
+     * @param  lives the lives left
+     * @param  rockChangeTick the time in seconds since the rocks last changed
+     * @param  generateMoveTick the time in seconds since the sharks last moved
+     * @throws NullPointerException if listener, timings or world is null
+     */
+    public GameSession(SessionListener listener, long seed, Timings timings, World world,
+            int level, int lives, float rockChangeTick, float generateMoveTick) {
+        if (listener == null || timings == null || world == null) {
+            throw new NullPointerException();
+        }
+        this.listener = listener;
+        this.seed = seed;
+        this.timings = timings;
+        this.world = world;
+        this.level = level;
+        this.lives = lives;
+        this.rockChangeTick = rockChangeTick;
+        this.generateMoveTick = generateMoveTick;
+        sharkCount = world.getSharks().size();
+        searchBudget = 0;
+
+        adjustDifficulty();
+
+        /* This value might have been changed by a powerup. */
+        sharkMoveDelay = world.getShark().getMoveDelay();
+
+        constructMovers();
+
+        /* We need to reattach the listener and timings since they are not serialized. */
+        world.registerListener(new SessionWorldListener());
+        world.setTimings(timings);
+    }
+
+    /**
+     * Starts recording the frames of the game. Should be called before the
+     * first frame of a new game.
+     */
+    public void startRecording() {
+        recording = new Recording(seed, sharkCount, searchBudget);
+    }
+
+    /** Returns the recording of the game, or null if it is not recorded. */
+    public Recording getRecording() {
+        return recording;
+    }
+
+    /**
+     * Runs the game for a frame.
+     *
+     * @param delta elapsed time in seconds
+     * @param tap the position the player tapped, or null
+     */
+    public void step(float delta, Position tap) {
+        if (tap != null && !isOnBoard(tap)) {
+            tap = null;
+        }
+        if (recording != null) {
+            recording.add(delta, tap == null ? Recording.NO_TAP : tap.y * DIMENSION + tap.x);
+        }
+
+        /* Controls the player. */
+        if (tap != null && world.getPlayer().getState() == Player.IDLE) {
+            playerMove(tap);
+        }
+
+        /* Changes rocks periodically. */
+        rockChangeTick += delta;
+        if (rockChangeTick > rockChangeInterval) {
+            rockChangeTick -= rockChangeInterval;
+            world.changeRocks(surfaceProbability, submergeProbability);
+            if (isPathMover()) {
+                mover.compute();
+            }
+        }
+
+        /* Continues a path search that is spread over several frames. */
+        if (mover instanceof AStarMove) {
+            ((AStarMove)mover).resume();
+        }
+
+        /* Controls the shark. */
+        generateMoveTick += delta;
+        if (generateMoveTick > sharkMoveDelay) {
+            generateMoveTick -= sharkMoveDelay;
+            sharkMove();
+        }
+
+        world.update(delta);
+    }
+
+    /** Moves on to the next level. */
+    public void nextLevel() {
+        ++level;
+        constructLevel();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public float getRockChangeTick() {
+        return rockChangeTick;
+    }
+
+    public float getGenerateMoveTick() {
+        return generateMoveTick;
+    }
+
+    /**
+     * Returns a hash of the level, the lives, the timers, the rocks and the
+     * positions of the player and the sharks. Two plays of a game which are
+     * in the same state have the same hash.
+     */
+    public long getStateHash() {
+        long hash = level;
+        hash = hash * 31 + lives;
+        hash = hash * 31 + Float.floatToIntBits(rockChangeTick);
+        hash = hash * 31 + Float.floatToIntBits(generateMoveTick);
+        hash = hash * 31 + world.getRockHash();
+        hash = hash * 31 + world.getPlayer().getPosition().hashCode();
+        hash = hash * 31 + world.getPlayer().getState();
+        for (Shark shark : world.getSharks()) {
+            hash = hash * 31 + shark.getPosition().hashCode();
+            hash = hash * 31 + shark.getState();
+        }
+        return hash;
+    }
+
+    private void playerMove(Position p) {
+        Player player = world.getPlayer();
+        Position playerPos = player.getPosition();
+        if (p.equals(playerPos)) {
+            player.dodge();
+            listener.playerJumped();
+        } else if (world.validatePlayerMove(p)) {
+            player.move(p);
+            listener.playerJumped();
+            /*
+             * If the shark follows a computed path, his path must be
+             * computed whenever the player moves.
+             */
+            if (isPathMover()) {
+                mover.compute();
+            }
+            /*
+             * Ensures that the player appears above the shark when
+             * jumping down from a horizontal attack.
+             */
+            for (Shark shark : world.getSharks()) {
+                Position sharkPos = shark.getPosition();
+                if (Board.isAdjacent(playerPos, sharkPos)
+                        && playerPos.x != sharkPos.x && p.y > playerPos.y) {
+                    shark.setZIndex(Shark.MISSED_Z_INDEX);
+                    listener.spritesReordered();
+                }
+            }
+        }
+    }
+
+    private void sharkMove() {
+        /* Several sharks are planned together so that they stay apart. */
+        if (squad != null) {
+            squad.compute();
+        }
+        List<Shark> sharks = world.getSharks();
+        for (int i = 0; i < sharks.size(); ++i) {
+            sharkMove(i, sharks.get(i));
+        }
+    }
+
+    private void sharkMove(int index, Shark shark) {
+        Position sharkPos = shark.getPosition();
+        Position playerPos = world.getPlayer().getPosition();
+        if (shark.getState() == Shark.IDLE
+                && world.validateSharkAttack(shark, playerPos)) {
+            shark.attack(playerPos);
+            listener.sharkAttacked();
+            /*
+             * Ensures that the shark appears behind the player and the rock
+             * when attacking from above.
+             */
+            if (sharkPos.y < playerPos.y) {
+                shark.setZIndex(Shark.ABOVE_Z_INDEX);
+            } else {
+                shark.setZIndex(Shark.Z_INDEX);
+            }
+            listener.spritesReordered();
+        } else if (shark.getState() == Shark.IDLE
+                || shark.getState() == Shark.MOVING){
+            Position next;
+            if (squad != null) {
+                next = squad.getNext(index);
+            } else {
+                if (!isPathMover()) {
+                    mover.compute();
+                }
+                next = mover.getNext();
+            }
+            if (next != null && world.isSharkTraversable(next) && !world.isRock(next)) {
+                shark.move(next);
+                if (mover instanceof MctsMove) {
+                    /* Plans the next move while the shark swims. */
+                    mover.compute();
+                }
+            }
+        }
+    }
+
+    /** Creates the current level. */
+    private void constructLevel() {
+        resetTimers();
+        adjustDifficulty();
+
+        world = new World(new SessionWorldListener(), DIMENSION, startSurfacedProbability,
+                sharkCount, Seeds.derive(seed, WORLD_STREAM, level), timings);
+        for (Shark shark : world.getSharks()) {
+            shark.setMoveDelay(sharkMoveDelay);
+        }
+
+        /*
+         * The probability of a life appearing is inversely proportional to
+         * the number of lives the player has.
+         */
+        Random rand = new Random(Seeds.derive(seed, POWERUP_STREAM, level));
+        if (rand.nextInt(lives * 2) == 0) {
+            world.addPowerup(new Life());
+        }
+
+        constructMovers();
+    }
+
+    /**
+     * Resets in-game timers.
+     * Should be called at the start of level construction.
+     */
+    private void resetTimers() {
+        rockChangeTick = 0;
+        generateMoveTick = 0;
+    }
+
+    /**
+     * Sets the difficulty of the game by adjusting some parameters.
+     * Should be called at the start of level construction.
+     */
+    private void adjustDifficulty() {
+        int difficulty = level - 1;
+        startSurfacedProbability = Math.max(START_SURFACED_P_MIN, START_SURFACED_P - difficulty);
+        surfaceProbability = Math.max(SURFACE_P_MIN, SURFACE_P - difficulty);
+        submergeProbability = Math.min(SUBMERGE_P_MAX, SUBMERGE_P + difficulty);
+        rockChangeInterval = Math.min(ROCK_CHANGE_T_MAX, ROCK_CHANGE_T + difficulty * 0.05f);
+        sharkMoveDelay = Math.max(SHARK_MOVE_T_MAX, SHARK_MOVE_T - difficulty * 0.025f);
+    }
+
+    /** Creates the move generators of the sharks of the current world. */
+    private void constructMovers() {
+        /*
+         * Several sharks are planned together by a squad; a single shark has
+         * a mover of his own.
+         */
+        if (sharkCount > 1) {
+            squad = new CooperativeMove(world);
+            mover = null;
+            return;
+        }
+        Random rand = new Random(Seeds.derive(seed, SHARK_STREAM, level));
+        if (level < 10) {
+            mover = new SimpleMove(world, rand);
+        } else if (searchBudget > 0) {
+            mover = new AStarMove(world, searchBudget, 0);
+        } else if (level >= MCTS_LEVEL) {
+            mover = new MctsMove(world, surfaceProbability, submergeProbability,
+                    rockChangeInterval, sharkMoveDelay, MCTS_BUDGET_FRACTION, rand.nextLong());
+        } else {
+            mover = new DStarLiteMove(world);
+        }
+        squad = null;
+        if (isPathMover()) {
+            mover.compute();
+        }
+    }
+
+    /**
+     * Returns true if the mover follows a computed path or searches in the
+     * background, so it must be updated whenever rocks change or the player
+     * moves.
+     */
+    private boolean isPathMover() {
+        return mover instanceof AStarMove || mover instanceof DStarLiteMove
+                || mover instanceof MctsMove;
+    }
+
+    private static boolean isOnBoard(Position p) {
+        return p.x >= 0 && p.x < DIMENSION && p.y >= 0 && p.y < DIMENSION;
+    }
+
+    private class SessionWorldListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup p) {
+            if (p instanceof Life) {
+                ++lives;
+            } else if (p instanceof Caffeine) {
+                /* Increases the player's maximum jump rate. */
+                float speed = world.getPlayer().getSpeed();
+                world.getPlayer().setSpeed(speed + 1);
+            } else if (p instanceof Slow) {
+                /* Slows the shark to half of his current speed. */
+                sharkMoveDelay *= 2;
+                for (Shark shark : world.getSharks()) {
+                    shark.setMoveDelay(sharkMoveDelay);
+                }
+                if (mover instanceof MctsMove) {
+                    ((MctsMove)mover).setMoveDelay(sharkMoveDelay);
+                }
+            }
+            listener.powerupFound(p);
+        }
+
+        @Override
+        public void playerHit() {
+            --lives;
+            listener.playerHit();
+        }
+
+        @Override
+        public void levelEnd() {
+            listener.levelEnd();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.mygdx.sharkbait;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The input of a game: its seed and, for every frame in which the game ran,
+ * the frame time and the cell the player tapped. Feeding the frames to a
+ * {@link GameSession} created with the same seed, number of sharks and search
+ * budget plays the game again exactly.
+ */
+public class Recording implements Serializable {
+    private static final long serialVersionUID = 1;
+
+    /** Tap value of a frame in which the player did not tap the board. */
+    public static final int NO_TAP = -1;
+
+    private final long seed;
+    private final int sharkCount;
+    private final int searchBudget;
+    private float[] deltas;
+    private int[] taps;
+    private int frameCount;
+    private long stateHash;
+
+    /** Creates an empty recording of a game with the specified seed and one shark. */
+    public Recording(long seed) {
+        this(seed, 1);
+    }
+
+    /**
+     * Creates an empty recording of a game with the specified seed and
+     * number of sharks.
+     */
+    public Recording(long seed, int sharkCount) {
+        this(seed, sharkCount, 0);
+    }
+
+    /**
+     * Creates an empty recording of a game with the specified seed, number of
+     * sharks and search budget.
+     */
+    public Recording(long seed, int sharkCount, int searchBudget) {
+        this.seed = seed;
+        this.sharkCount = sharkCount;
+        this.searchBudget = searchBudget;
+        deltas = new float[1024];
+        taps = new int[1024];
+    }
+
+    /**
+     * Adds a frame.
+     *
+     * @param delta the frame time in seconds
+     * @param tap the index ({@code y * dimension + x}) of the tapped cell, or
+     *        {@link #NO_TAP}
+     */
+    public void add(float delta, int tap) {
+        if (frameCount == deltas.length) {
+            deltas = Arrays.copyOf(deltas, frameCount * 2);
+            taps = Arrays.copyOf(taps, frameCount * 2);
+        }
+        deltas[frameCount] = delta;
+        taps[frameCount] = tap;
+        ++frameCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSharkCount() {
+        return sharkCount;
+    }
+
+    public int getSearchBudget() {
+        return searchBudget;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /** Returns the frame time in seconds of the specified frame. */
+    public float getDelta(int frame) {
+        return deltas[frame];
+    }
+
+    /** Returns the tapped cell of the specified frame, or {@link #NO_TAP}. */
+    public int getTap(int frame) {
+        return taps[frame];
+    }
+
+    /**
+     * Returns the {@link GameSession#getStateHash() state hash} the game had
+     * after the last frame, against which a replay can be checked.
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    public void setStateHash(long stateHash) {
+        this.stateHash = stateHash;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mygdx.sharkbait;
+
+import com.mygdx.sharkbait.powerups.Powerup;
+
+/**
+ * Receives the events of a {@link GameSession} which the rules leave to the
+ * presentation (sounds, sprite order and screen changes).
+ */
+public interface SessionListener {
+    void playerJumped();
+    void sharkAttacked();
+    void spritesReordered();
+    void powerupFound(Powerup powerup);
+    void playerHit();
+    void levelEnd();
+}
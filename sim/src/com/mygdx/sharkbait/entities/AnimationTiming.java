@@ -0,0 +1,41 @@
+package com.mygdx.sharkbait.entities;
+
+/**
+ * The timing of an animation, without its frames. The rules use it to tell
+ * when an animated action is over, so they need no textures.
+ */
+public final class AnimationTiming {
+    /** The time in seconds each frame is shown. */
+    public final float frameDuration;
+    /** The number of frames. */
+    public final int frameCount;
+    /** The length of the animation in seconds. */
+    public final float duration;
+
+    /**
+     * Creates the timing of an animation.
+     *
+     * @throws IllegalArgumentException if frameDuration is not positive or
+     *         frameCount is less than 1
+     */
+    public AnimationTiming(float frameDuration, int frameCount) {
+        if (!(frameDuration > 0)) {
+            throw new IllegalArgumentException("Frame duration must be positive");
+        }
+        if (frameCount < 1) {
+            throw new IllegalArgumentException("Frame count must be 1 or greater");
+        }
+        this.frameDuration = frameDuration;
+        this.frameCount = frameCount;
+        duration = frameCount * frameDuration;
+    }
+
+    /**
+     * Returns true if the animation is over after the specified time. Agrees
+     * with {@code Animation.isAnimationFinished} for an animation with the
+     * same timing.
+     */
+    public boolean isFinished(float stateTime) {
+        return frameCount - 1 < (int)(stateTime / frameDuration);
+    }
+}
@@ -2,10 +2,6 @@ package com.mygdx.sharkbait.entities;
 
 import java.io.Serializable;
 
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.mygdx.sharkbait.utils.Assets;
 import com.mygdx.sharkbait.utils.Position;
 
 /** Player sprite. */
@@ -100,6 +96,16 @@ public class Player extends TileSprite implements Serializable {
         return state;
     }
     
+    /** Returns true if the player faces left, which his frames are mirrored for. */
+    public boolean isMirrored() {
+        return mirror;
+    }
+
+    /** Returns true if the player is see-through, as he flickers while invincible. */
+    public boolean isTransparent() {
+        return transparent;
+    }
+
     /** Resets stats and removes abnormal statuses. */
     public void restore() {
         speed = 1;
@@ -107,37 +113,13 @@ public class Player extends TileSprite implements Serializable {
         transparent = false;
     }
 
-    @Override
-    public void draw(Batch batch, float tileWidth) {		
-        switch (state) {
-        case IDLE:
-            keyFrame = Assets.player;
-            break;
-        case DODGING:
-            keyFrame = Assets.playerDodge.getKeyFrame(stateTime);
-            break;
-        case MOVING:
-            keyFrame = Assets.playerMove.getKeyFrame(stateTime * speed);
-            break;
-        }
-
-        if (mirror) {
-            keyFrame = new TextureRegion(keyFrame);
-            keyFrame.flip(true, false);
-        }
-
-        if (transparent) {
-            Color c = batch.getColor();
-            batch.setColor(c.r, c.g, c.b, 0.2f);
-            super.draw(batch, tileWidth);
-            batch.setColor(c);
-        } else {
-            super.draw(batch, tileWidth);
-        }
-    }
-
-    @Override
-    public void update(float delta) {
+    /**
+     * Updates the player.
+     *
+     * @param delta elapsed time in seconds
+     * @param timings the timings of the animations the player waits on
+     */
+    public void update(float delta, Timings timings) {
         super.update(delta);
 
         if (invincible) {
@@ -151,29 +133,30 @@ public class Player extends TileSprite implements Serializable {
 
         switch (state) {
         case DODGING:
-            if (Assets.playerDodge.isAnimationFinished(stateTime)) {
+            if (timings.playerDodge.isFinished(stateTime)) {
                 state = IDLE;
             }
             break;
         case MOVING:
-            if (Assets.playerMove.isAnimationFinished(stateTime * speed)) {
+            if (timings.playerMove.isFinished(stateTime * speed)) {
                 state = IDLE;
-                draw.set(position.x, position.y);
+                drawX = position.x;
+                drawY = position.y;
                 break;
             }
-            float distance = stateTime * speed / Assets.playerMove.animationDuration;
+            float distance = stateTime * speed / timings.playerMove.duration;
             switch (direction) {
             case UP:
-                draw.y = prev.y - distance;
+                drawY = prev.y - distance;
                 break;
             case DOWN:
-                draw.y = prev.y + distance;
+                drawY = prev.y + distance;
                 break;
             case LEFT:
-                draw.x = prev.x - distance;
+                drawX = prev.x - distance;
                 break;
             case RIGHT:
-                draw.x = prev.x + distance;
+                drawX = prev.x + distance;
                 break;
             }
             break;
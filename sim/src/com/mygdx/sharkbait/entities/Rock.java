@@ -0,0 +1,94 @@
+package com.mygdx.sharkbait.entities;
+
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.World;
+
+/**
+ * A rock. The states and animation times of all rocks are kept in arrays
+ * owned by the {@link World}; a rock is only a view of one cell of them.
+ */
+public class Rock {
+    public static final int Z_INDEX = 2;
+    
+    public static final int SUBMERGED = 0;
+    public static final int SUBMERGING = 1;
+    public static final int SURFACING = 2;
+    public static final int SURFACED = 3;
+    
+    private final World world;
+    private final int cell;
+
+    /** Constructs a view of the rock on the cell with the specified index. */
+    public Rock(World world, int cell) {
+        this.world = world;
+        this.cell = cell;
+    }
+
+    public int getState() {
+        return world.getRockState(cell);
+    }
+
+    public void setState(int state) {
+        world.setRockState(cell, state);
+    }
+
+    /** Returns the accumulated state time of the rock in seconds. */
+    public float getStateTime() {
+        return world.getRockTime(cell);
+    }
+
+    /** Returns the board position of the rock. */
+    public Position getPosition() {
+        int dimension = world.getDimension();
+        return Position.of(cell % dimension, cell / dimension);
+    }
+
+    /**
+     * Advances the animations of the rocks in a layer which are surfacing or
+     * submerging. Rocks which finish settle in their new state and are
+     * removed from the list of animating rocks.
+     *
+     * @param  states the states of the rocks, indexed by cell
+     * @param  stateTimes the state times of the rocks, indexed by cell
+     * @param  animating the cells of the animating rocks
+     * @param  count the number of animating rocks
+     * @param  delta elapsed time in seconds
+     * @param  timings the timings of the rock animations
+     * @return the number of rocks still animating, which are moved to the
+     *         front of the list
+     */
+    public static int update(byte[] states, float[] stateTimes, int[] animating, int count,
+            float delta, Timings timings) {
+        int i = 0;
+        while (i < count) {
+            int cell = animating[i];
+            boolean finished;
+            switch (states[cell]) {
+            case SURFACING:
+                stateTimes[cell] += delta;
+                finished = timings.rockSurface.isFinished(stateTimes[cell]);
+                if (finished) {
+                    states[cell] = SURFACED;
+                }
+                break;
+            case SUBMERGING:
+                stateTimes[cell] += delta;
+                finished = timings.rockSink.isFinished(stateTimes[cell]);
+                if (finished) {
+                    states[cell] = SUBMERGED;
+                }
+                break;
+            default:
+                finished = true;
+                break;
+            }
+            if (finished) {
+                stateTimes[cell] = 0;
+                animating[i] = animating[--count];
+            } else {
+                ++i;
+            }
+        }
+        return count;
+    }
+}
@@ -2,9 +2,6 @@ package com.mygdx.sharkbait.entities;
 
 import java.io.Serializable;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.mygdx.sharkbait.utils.Assets;
 import com.mygdx.sharkbait.utils.Position;
 
 /** Shark sprite. */
@@ -78,6 +75,11 @@ public class Shark extends TileSprite implements Serializable {
         return state;
     }
 
+    /** Returns true if the shark faces right, which his frames are mirrored for. */
+    public boolean isMirrored() {
+        return mirror;
+    }
+
     /**
      * Returns the previous position occupied by the shark. If the shark has not
      * yet moved, this returns his current position.
@@ -103,32 +105,13 @@ public class Shark extends TileSprite implements Serializable {
         state = SURFACING; // Starts attack animation.
     }
 
-    @Override
-    public void draw(Batch batch, float tileWidth) {
-        switch (state) {
-        case IDLE:
-        case MOVING:
-            keyFrame = Assets.shark.getKeyFrame(stateTime);
-            break;
-        case SURFACING:
-            keyFrame = Assets.sharkSurface.getKeyFrame(stateTime);
-            break;
-        case ATTACKED:
-        case SUBMERGING:
-            keyFrame = Assets.sharkSubmerge.getKeyFrame(stateTime);
-            break;
-        }
-
-        if (mirror) {
-            keyFrame = new TextureRegion(keyFrame);
-            keyFrame.flip(true, false);
-        }
-
-        super.draw(batch, tileWidth);
-    }
-
-    @Override
-    public void update(float delta) {
+    /**
+     * Updates the shark.
+     *
+     * @param delta elapsed time in seconds
+     * @param timings the timings of the animations the shark waits on
+     */
+    public void update(float delta, Timings timings) {
         super.update(delta);
 
         float distance = 0;
@@ -140,19 +123,20 @@ public class Shark extends TileSprite implements Serializable {
             if (stateTime > moveDelay) {
                 stateTime = 0;
                 state = IDLE;
-                draw.set(position.x, position.y);
+                drawX = position.x;
+                drawY = position.y;
                 return;
             }
             distance = stateTime / moveDelay;
             origin = prev;
             break;
         case SURFACING:
-            if (Assets.sharkSurface.isAnimationFinished(stateTime)) {
+            if (timings.sharkSurface.isFinished(stateTime)) {
                 stateTime = 0;
                 state = ATTACKED;
                 return;
             }
-            distance = stateTime / Assets.sharkSurface.animationDuration 
+            distance = stateTime / timings.sharkSurface.duration 
                     * ATTACK_DISTANCE;
             origin = position;
             break;
@@ -160,13 +144,14 @@ public class Shark extends TileSprite implements Serializable {
             stateTime = 0;
             state = SUBMERGING;
         case SUBMERGING:
-            if (Assets.sharkSubmerge.isAnimationFinished(stateTime)) {
+            if (timings.sharkSubmerge.isFinished(stateTime)) {
                 stateTime = 0;
                 state = IDLE;
-                draw.set(position.x, position.y);
+                drawX = position.x;
+                drawY = position.y;
                 return;
             }
-            distance = -(stateTime / Assets.sharkSubmerge.animationDuration
+            distance = -(stateTime / timings.sharkSubmerge.duration
                     * ATTACK_DISTANCE + (1 - ATTACK_DISTANCE));
             origin = target;
             break;
@@ -174,16 +159,16 @@ public class Shark extends TileSprite implements Serializable {
 
         switch (direction) {
         case UP:
-            draw.y = origin.y - distance;
+            drawY = origin.y - distance;
             break;
         case DOWN:
-            draw.y = origin.y + distance;
+            drawY = origin.y + distance;
             break;
         case LEFT:
-            draw.x = origin.x - distance;
+            drawX = origin.x - distance;
             break;
         case RIGHT:
-            draw.x = origin.x + distance;
+            drawX = origin.x + distance;
             break;
         }
     }
@@ -0,0 +1,95 @@
+package com.mygdx.sharkbait.entities;
+
+import java.io.Serializable;
+
+import com.mygdx.sharkbait.utils.Position;
+
+/**
+ * A sprite which gets drawn on a tile. Sprites hold what the rules need
+ * (board position, state time) and where they should be drawn; drawing
+ * itself is left to the renderer.
+ */
+public abstract class TileSprite implements Serializable {
+    private static final long serialVersionUID = 2;
+    
+    protected Position position;
+    /* The tile the sprite is drawn on, which may be fractional. */
+    protected float drawX;
+    protected float drawY;
+    /* Where the sprite was drawn before the last update. */
+    private float previousDrawX;
+    private float previousDrawY;
+    protected int zIndex;
+    protected float stateTime;
+
+    /** Constructs a sprite with the position (0, 0). */
+    public TileSprite() {
+        this(Position.of(0, 0));
+    }
+
+    /** Constructs a sprite with the specified position. */
+    public TileSprite(Position position) {
+        this.position = position;
+        drawX = previousDrawX = position.x;
+        drawY = previousDrawY = position.y;
+    }
+
+    /**
+     * Returns the column the sprite is drawn at, which may be fractional.
+     * 
+     * @param alpha how far to go from where the sprite was before the last
+     *        update (0) to where it is now (1)
+     */
+    public float getDrawX(float alpha) {
+        return previousDrawX + (drawX - previousDrawX) * alpha;
+    }
+
+    /**
+     * Returns the row the sprite is drawn at, which may be fractional.
+     * 
+     * @param alpha how far to go from where the sprite was before the last
+     *        update (0) to where it is now (1)
+     */
+    public float getDrawY(float alpha) {
+        return previousDrawY + (drawY - previousDrawY) * alpha;
+    }
+
+    /**
+     * Updates the sprite.
+     * 
+     * @param delta elapsed time in seconds
+     */
+    public void update(float delta) {
+        previousDrawX = drawX;
+        previousDrawY = drawY;
+        stateTime += delta;
+    }
+
+    /** Sets the z-index of the sprite. */
+    public void setZIndex(int zIndex) {
+        this.zIndex = zIndex;
+    }
+
+    /** Returns the z-index of the sprite. */
+    public int getZIndex() {
+        return zIndex;
+    }
+
+    /** Returns the accumulated state time of the sprite in seconds. */
+    public float getStateTime() {
+        return stateTime;
+    }
+
+    /** Sets the board position of the sprite. */
+    public void setPosition(Position position) {
+        this.position = position;
+        /* The sprite does not travel there. */
+        drawX = previousDrawX = position.x;
+        drawY = previousDrawY = position.y;
+    }
+
+    /** Returns the current board position of the sprite. */
+    public Position getPosition() {
+        return position;
+    }
+}
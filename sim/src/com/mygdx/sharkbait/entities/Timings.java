@@ -0,0 +1,44 @@
+package com.mygdx.sharkbait.entities;
+
+/**
+ * Timings of the animations the rules wait on. A world is given its timings
+ * when it is created, so simulations running side by side can use different
+ * ones. Whoever loads the animations should build the timings from them.
+ */
+public final class Timings {
+    /** Timings of the animations of the shipped textures. */
+    public static final Timings DEFAULT = new Timings(
+            new AnimationTiming(1f / 30, 7),
+            new AnimationTiming(1f / 30, 7),
+            new AnimationTiming(0.5f / 25, 25),
+            new AnimationTiming(0.25f / 25, 25),
+            new AnimationTiming(0.53f / 30, 30),
+            new AnimationTiming(0.53f / 30, 30));
+
+    public final AnimationTiming rockSurface;
+    public final AnimationTiming rockSink;
+    public final AnimationTiming playerMove;
+    public final AnimationTiming playerDodge;
+    public final AnimationTiming sharkSurface;
+    public final AnimationTiming sharkSubmerge;
+
+    /**
+     * Creates a set of timings.
+     *
+     * @throws NullPointerException if any of the timings is null
+     */
+    public Timings(AnimationTiming rockSurface, AnimationTiming rockSink,
+            AnimationTiming playerMove, AnimationTiming playerDodge,
+            AnimationTiming sharkSurface, AnimationTiming sharkSubmerge) {
+        if (rockSurface == null || rockSink == null || playerMove == null
+                || playerDodge == null || sharkSurface == null || sharkSubmerge == null) {
+            throw new NullPointerException();
+        }
+        this.rockSurface = rockSurface;
+        this.rockSink = rockSink;
+        this.playerMove = playerMove;
+        this.playerDodge = playerDodge;
+        this.sharkSurface = sharkSurface;
+        this.sharkSubmerge = sharkSubmerge;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mygdx.sharkbait.entities;
+
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.World;
+
+/**
+ * The water of a cell. All water plays the same animation in lockstep,
+ * driven by the clock of the {@link World}; water is only a view of a cell.
+ */
+public class Water {
+    private final World world;
+    private final int cell;
+
+    /** Constructs a view of the water on the cell with the specified index. */
+    public Water(World world, int cell) {
+        this.world = world;
+        this.cell = cell;
+    }
+
+    /** Returns the accumulated state time of the water in seconds. */
+    public float getStateTime() {
+        return world.getClock();
+    }
+
+    /** Returns the board position of the water. */
+    public Position getPosition() {
+        int dimension = world.getDimension();
+        return Position.of(cell % dimension, cell / dimension);
+    }
+}
@@ -0,0 +1,166 @@
+package com.mygdx.sharkbait.moves;
+
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Generates moves for the shark using the A* algorithm. Searches can be given
+ * a per-call budget, in which case {@code compute} only starts a search and
+ * {@code resume} has to be called (typically once per frame) until it
+ * finishes. A {@link PathCache} can be placed in front of the search.
+ *
+ * <p>A game session plans with {@link DStarLiteMove} unless it is given a
+ * search budget, in which case it resumes the search once per frame.
+ */
+public class AStarMove implements Mover {
+    private final BoardView board;
+    private final AStarSearch search;
+    private final int[] path;
+    private final int maxExpansions;
+    private final long maxNanos;
+    private PathCache cache;
+    private long cacheHash;
+    private int cacheSrc;
+    private int cacheDst;
+    private int pathSize;
+    private boolean searching;
+    private boolean restart;
+    private boolean storeResult;
+
+    /** Constructs a move generator for the specified board. */
+    public AStarMove(BoardView board) {
+        this(board, 0, 0);
+    }
+
+    /**
+     * Constructs a move generator whose searches are spread over several
+     * calls.
+     *
+     * @param board the board to generate moves for
+     * @param maxExpansions the maximum number of cells expanded per call to
+     *        {@code compute} or {@code resume}, or 0 for no limit
+     * @param maxMicros the maximum time in microseconds spent per call to
+     *        {@code compute} or {@code resume}, or 0 for no limit
+     */
+    public AStarMove(BoardView board, int maxExpansions, int maxMicros) {
+        int dimension = board.getDimension();
+        this.board = board;
+        this.maxExpansions = maxExpansions > 0 ? maxExpansions : Integer.MAX_VALUE;
+        maxNanos = maxMicros * 1000L;
+        search = new AStarSearch(dimension);
+        path = new int[dimension * dimension];
+    }
+
+    @Override
+    public Position getNext() {
+        if (searching) {
+            /*
+             * The search has not finished yet so the shark heads for the most
+             * promising cell found so far. That path is traced only once, and
+             * the next call to resume restarts the search from wherever the
+             * shark ends up.
+             */
+            pathSize = search.tracePath(path);
+            searching = false;
+            restart = true;
+        }
+        if (pathSize == 0) {
+            return null;
+        }
+        int next = path[--pathSize];
+        int dimension = board.getDimension();
+        return Position.of(next % dimension, next / dimension);
+    }
+
+    @Override
+    public void compute() {
+        int dimension = board.getDimension();
+        Position srcPos = board.getSharkPosition();
+        Position dstPos = board.getPlayerPosition();
+        int src = srcPos.y * dimension + srcPos.x;
+        int dst = dstPos.y * dimension + dstPos.x;
+        restart = false;
+        storeResult = false;
+
+        if (cache != null) {
+            long hash = board.getRockHash();
+            int[] cached = cache.get(hash, src, dst);
+            if (cached != null) {
+                if (isTraversable(cached)) {
+                    System.arraycopy(cached, 0, path, 0, cached.length);
+                    pathSize = cached.length;
+                    searching = false;
+                    return;
+                }
+                /* Two different boards produced the same hash. */
+                cache.reject(hash, src, dst);
+            }
+            cacheHash = hash;
+            cacheSrc = src;
+            cacheDst = dst;
+            storeResult = true;
+        }
+
+        search.begin(board, src, dst);
+        searching = true;
+        resume();
+    }
+
+    /**
+     * Continues an unfinished search within the configured budget. Does
+     * nothing if no search is in progress.
+     */
+    public void resume() {
+        if (restart) {
+            compute();
+            return;
+        }
+        if (searching && search.resume(maxExpansions, maxNanos)) {
+            pathSize = search.tracePath(path);
+            searching = false;
+            if (storeResult && cache != null) {
+                cache.put(cacheHash, cacheSrc, cacheDst, path, pathSize);
+            }
+        }
+    }
+
+    /**
+     * Places a cache in front of the search. The cache can be shared with
+     * other move generators. Pass null to disable caching.
+     */
+    public void setCache(PathCache cache) {
+        this.cache = cache;
+    }
+
+    public PathCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the landmarks used to estimate distances, or null to use the
+     * Manhattan distance only.
+     */
+    public void setLandmarks(Landmarks landmarks) {
+        search.setLandmarks(landmarks);
+    }
+
+    /** Returns the number of cells expanded by the current search. */
+    public int getExpanded() {
+        return search.getExpanded();
+    }
+
+    /** Returns true if a search is in progress. */
+    public boolean isSearching() {
+        return searching;
+    }
+
+    /** Returns true if every cell of a path can be traversed by the shark. */
+    private boolean isTraversable(int[] cells) {
+        for (int cell : cells) {
+            if (!board.isSharkTraversable(cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
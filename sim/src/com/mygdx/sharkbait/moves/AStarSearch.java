@@ -0,0 +1,260 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Arrays;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * A* search over the cells of a square board. Cells are identified by their
+ * index ({@code y * dimension + x}). All per-cell state lives in arrays which
+ * are allocated once and invalidated between searches by bumping a generation
+ * counter, so a search does not allocate any memory. A search can also be
+ * carried out in steps, which allows its cost to be spread over several
+ * frames. The Manhattan distance estimate can be tightened with
+ * {@link Landmarks}.
+ */
+public final class AStarSearch {
+    /** Open list kind: bucket queue (Dial's algorithm). The default. */
+    public static final int BUCKET_QUEUE = 0;
+    /** Open list kind: binary heap. */
+    public static final int BINARY_HEAP = 1;
+
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final int[] g;
+    private final int[] h;
+    private final int[] parent;
+    private final int[] closed;
+    private final OpenList open;
+    private Landmarks landmarks;
+    private int generation;
+    private BoardView board;
+    private int dst;
+    private int goal;
+    private int best;
+    private int result;
+    private int expanded;
+
+    /** Creates a search for an n x n board. */
+    public AStarSearch(int dimension) {
+        this(dimension, BUCKET_QUEUE);
+    }
+
+    /**
+     * Creates a search for an n x n board with the specified kind of open
+     * list.
+     *
+     * @param  dimension the value of n
+     * @param  openList either BUCKET_QUEUE or BINARY_HEAP
+     * @throws IllegalArgumentException if openList is not a known kind
+     */
+    public AStarSearch(int dimension, int openList) {
+        int cells = dimension * dimension;
+        this.dimension = dimension;
+        neighbors = Board.getNeighbors(dimension);
+        g = new int[cells];
+        h = new int[cells];
+        parent = new int[cells];
+        closed = new int[cells];
+        switch (openList) {
+        case BUCKET_QUEUE:
+            /*
+             * Path lengths are below the number of cells and so are the
+             * distance estimates, which bounds the f-values.
+             */
+            open = new BucketQueue(cells, 2 * cells + 2 * dimension);
+            break;
+        case BINARY_HEAP:
+            open = new IntHeap(cells);
+            break;
+        default:
+            throw new IllegalArgumentException("Open list must be BUCKET_QUEUE or BINARY_HEAP");
+        }
+    }
+
+    /**
+     * Computes the shortest path from the source cell to the destination cell
+     * or, if no path is available, the path which gets the closest to the
+     * destination.
+     *
+     * @param  board the board whose shark traversability rules apply
+     * @param  src the index of the starting cell
+     * @param  dst the index of the destination cell
+     * @param  path receives the cells of the path excluding the starting cell.
+     *         The path follows the same order as the trace so the first cell
+     *         is the destination. Must hold at least dimension * dimension
+     *         elements.
+     * @return the number of cells written to path
+     */
+    public int search(BoardView board, int src, int dst, int[] path) {
+        begin(board, src, dst);
+        resume(Integer.MAX_VALUE, 0);
+        return tracePath(path);
+    }
+
+    /**
+     * Starts a search which can be carried out in several steps with
+     * {@code resume}. The board must not change until the search finishes.
+     *
+     * @param board the board whose shark traversability rules apply
+     * @param src the index of the starting cell
+     * @param dst the index of the destination cell
+     */
+    public void begin(BoardView board, int src, int dst) {
+        nextGeneration();
+        open.clear();
+
+        this.board = board;
+        this.dst = dst;
+        goal = board.getGoal().y * dimension + board.getGoal().x;
+        best = src;
+        result = -1;
+        expanded = 0;
+        if (landmarks != null) {
+            landmarks.prepare(board, dst);
+        }
+
+        visit(src, -1, 0, heuristic(src));
+        open.put(src, 0);
+    }
+
+    /**
+     * Continues the current search.
+     *
+     * @param  maxExpansions the maximum number of cells to expand
+     * @param  maxNanos the maximum running time in nanoseconds or 0 for no
+     *         limit. The clock is only read every few expansions.
+     * @return {@code true} if the search has finished
+     */
+    public boolean resume(int maxExpansions, long maxNanos) {
+        long deadline = maxNanos > 0 ? System.nanoTime() + maxNanos : 0;
+        int expansions = 0;
+        while (result < 0) {
+            if (open.isEmpty()) {
+                result = best;
+                break;
+            }
+            if (expansions == maxExpansions) {
+                return false;
+            }
+            if (deadline != 0 && (expansions & 15) == 15 && System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            expand(open.poll());
+            ++expansions;
+        }
+        return true;
+    }
+
+    /** Returns true if the current search has finished. */
+    public boolean isFinished() {
+        return result >= 0;
+    }
+
+    /** Returns the number of cells expanded by the current search. */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Sets the landmarks used to estimate distances, or null to use the
+     * Manhattan distance only, which is the default. Takes effect with the
+     * next search.
+     */
+    public void setLandmarks(Landmarks landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    public Landmarks getLandmarks() {
+        return landmarks;
+    }
+
+    /**
+     * Traces the path found by the current search. If the search has not yet
+     * finished, the path leads to the expanded cell with the best heuristic
+     * estimate so far.
+     *
+     * @param  path receives the cells of the path, destination first
+     * @return the number of cells written to path
+     */
+    public int tracePath(int[] path) {
+        return tracePath(result >= 0 ? result : best, path);
+    }
+
+    private void expand(int current) {
+        if (current == dst) { // Destination reached.
+            result = current;
+            return;
+        }
+        ++expanded;
+        /*
+         * The goal is always untraversable for the shark so we correct the
+         * distance between cells that are on opposite sides of the goal when
+         * looking for the closest cell. Landmark estimates may be tighter.
+         */
+        h[current] = Math.max(h[current], Board.islandDistance(current, dst, goal, dimension));
+        if (h[current] < h[best]) {
+            best = current;
+        }
+        closed[current] = generation;
+
+        for (int i = neighbors.offsets[current], end = neighbors.offsets[current + 1]; i < end; ++i) {
+            relax(current, neighbors.cells[i]);
+        }
+    }
+
+    private void relax(int current, int neighbor) {
+        if (closed[neighbor] == generation || !board.isSharkTraversable(neighbor)) {
+            return;
+        }
+        /*
+         * The second addend of gTentative is meant to be the distance between
+         * the current cell and its neighbor. In our case, that value is always
+         * 1.
+         */
+        int gTentative = g[current] + 1;
+        if (!open.contains(neighbor) || gTentative < g[neighbor]) {
+            int hNeighbor = heuristic(neighbor);
+            visit(neighbor, current, gTentative, hNeighbor);
+            open.put(neighbor, gTentative + hNeighbor);
+        }
+    }
+
+    private void visit(int cell, int prev, int gCell, int hCell) {
+        parent[cell] = prev;
+        g[cell] = gCell;
+        h[cell] = hCell;
+    }
+
+    /**
+     * Backtracks from a cell to trace a computed path. Returns the length of
+     * the path.
+     */
+    private int tracePath(int cell, int[] path) {
+        int length = 0;
+        while (parent[cell] >= 0) {
+            path[length++] = cell;
+            cell = parent[cell];
+        }
+        return length;
+    }
+
+    private void nextGeneration() {
+        if (++generation == 0) {
+            /* The counter wrapped around so stale stamps could match again. */
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+    /** Returns an admissible estimate of the distance to the destination. */
+    private int heuristic(int cell) {
+        int estimate = Board.distanceL1(cell, dst, dimension);
+        if (landmarks != null) {
+            estimate = Math.max(estimate, landmarks.estimate(cell));
+        }
+        return estimate;
+    }
+}
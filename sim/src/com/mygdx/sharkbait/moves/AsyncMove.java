@@ -0,0 +1,241 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardSnapshot;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Runs another move generator on a background thread. Each computation plans
+ * against an immutable snapshot of the board and the resulting path is
+ * published atomically into one of two buffers, so {@code getNext} never
+ * blocks and never sees a half-written path. While a computation is running,
+ * further requests are coalesced and served with a fresh snapshot once it
+ * finishes.
+ */
+public class AsyncMove implements Mover {
+    /** A single daemon thread shared by all instances. */
+    private static final Executor planner = Executors.newSingleThreadExecutor(
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "Shark planner");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    private final BoardView board;
+    private final SnapshotView view;
+    private final Mover delegate;
+    private final Plan[] buffers;
+    private final Runnable job;
+    private volatile Plan published;
+    private volatile boolean busy;
+    private BoardSnapshot jobSnapshot;
+    private Plan jobBuffer;
+    private Plan current;
+    private int cursor;
+    private boolean pending;
+
+    /**
+     * Constructs an asynchronous move generator.
+     *
+     * @param board the live board which gets copied for every computation
+     * @param factory creates the move generator which runs in the background.
+     *        It is only ever used from the planning thread.
+     */
+    public AsyncMove(BoardView board, MoverFactory factory) {
+        int cells = board.getDimension() * board.getDimension();
+        this.board = board;
+        view = new SnapshotView(new BoardSnapshot(board));
+        delegate = factory.create(view);
+        buffers = new Plan[] { new Plan(cells), new Plan(cells) };
+        job = new Runnable() {
+            @Override
+            public void run() {
+                plan();
+            }
+        };
+    }
+
+    @Override
+    public Position getNext() {
+        submit();
+
+        Plan plan = published;
+        if (plan == null) {
+            return null;
+        }
+        if (plan != current) {
+            current = plan;
+            cursor = 0;
+        }
+
+        /*
+         * The shark might have moved along the path since the snapshot was
+         * taken, so the path is resumed after his current position.
+         */
+        int dimension = board.getDimension();
+        Position shark = board.getSharkPosition();
+        int sharkCell = shark.y * dimension + shark.x;
+        for (int i = cursor; i < plan.size; ++i) {
+            if (plan.cells[i] == sharkCell) {
+                cursor = i + 1;
+                break;
+            }
+        }
+        if (cursor == plan.size) {
+            return null;
+        }
+
+        int next = plan.cells[cursor];
+        int x = next % dimension;
+        int y = next / dimension;
+        if (Math.abs(x - shark.x) + Math.abs(y - shark.y) != 1) {
+            return null; // The path does not start next to the shark.
+        }
+        return Position.of(x, y);
+    }
+
+    @Override
+    public void compute() {
+        pending = true;
+        submit();
+    }
+
+    /** Returns true if a computation is running in the background. */
+    public boolean isBusy() {
+        return busy;
+    }
+
+    /**
+     * Returns the time in seconds since the snapshot behind the current path
+     * was taken, or 0 if no path has been published yet.
+     */
+    public float getPathAge() {
+        Plan plan = published;
+        return plan == null ? 0 : (System.nanoTime() - plan.snapshot.getTime()) / 1e9f;
+    }
+
+    /**
+     * Returns true if rocks have changed or the player has moved since the
+     * snapshot behind the current path was taken.
+     */
+    public boolean isPathStale() {
+        Plan plan = published;
+        return plan == null
+                || plan.snapshot.getRockVersion() != board.getRockVersion()
+                || !plan.snapshot.getPlayerPosition().equals(board.getPlayerPosition());
+    }
+
+    /** Starts a computation if one was requested and none is running. */
+    private void submit() {
+        if (!pending || busy) {
+            return;
+        }
+        pending = false;
+        busy = true;
+        jobSnapshot = new BoardSnapshot(board);
+        jobBuffer = published == buffers[0] ? buffers[1] : buffers[0];
+        planner.execute(job);
+    }
+
+    /** Runs on the planning thread. */
+    private void plan() {
+        try {
+            BoardSnapshot snapshot = jobSnapshot;
+            Plan buffer = jobBuffer;
+            view.snapshot = snapshot;
+            delegate.compute();
+
+            /*
+             * Path generators hand out one move per call. Single-move
+             * generators keep returning the same move, which is not adjacent
+             * to itself, so draining stops there.
+             */
+            int dimension = snapshot.getDimension();
+            Position prev = snapshot.getSharkPosition();
+            buffer.size = 0;
+            while (buffer.size < buffer.cells.length) {
+                Position next = delegate.getNext();
+                if (next == null || Math.abs(next.x - prev.x) + Math.abs(next.y - prev.y) != 1) {
+                    break;
+                }
+                buffer.cells[buffer.size++] = next.y * dimension + next.x;
+                prev = next;
+            }
+            buffer.snapshot = snapshot;
+            published = buffer;
+        } finally {
+            busy = false;
+        }
+    }
+
+    private static class Plan {
+        final int[] cells;
+        int size;
+        BoardSnapshot snapshot;
+
+        Plan(int cells) {
+            this.cells = new int[cells];
+        }
+    }
+
+    /** The board seen by the delegate. Only used on the planning thread. */
+    private static class SnapshotView implements BoardView {
+        BoardSnapshot snapshot;
+
+        SnapshotView(BoardSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public int getDimension() {
+            return snapshot.getDimension();
+        }
+
+        @Override
+        public Position getGoal() {
+            return snapshot.getGoal();
+        }
+
+        @Override
+        public Position getSharkPosition() {
+            return snapshot.getSharkPosition();
+        }
+
+        @Override
+        public Position getPlayerPosition() {
+            return snapshot.getPlayerPosition();
+        }
+
+        @Override
+        public boolean isSharkTraversable(Position p) {
+            return snapshot.isSharkTraversable(p);
+        }
+
+        @Override
+        public boolean isSharkTraversable(int index) {
+            return snapshot.isSharkTraversable(index);
+        }
+
+        @Override
+        public int getRockVersion() {
+            return snapshot.getRockVersion();
+        }
+
+        @Override
+        public int getChangedCells(int[] cells) {
+            return snapshot.getChangedCells(cells);
+        }
+
+        @Override
+        public long getRockHash() {
+            return snapshot.getRockHash();
+        }
+    }
+}
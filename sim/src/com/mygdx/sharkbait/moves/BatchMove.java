@@ -0,0 +1,276 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.utils.Seeds;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Generates shark moves for many boards of the same size in one call, for
+ * headless simulations which run lots of worlds at once. Instead of one
+ * {@link Mover} per board, boards are processed in blocks: the state a rule
+ * needs is first copied out of every board of a block into contiguous arrays,
+ * and the rule then runs over those arrays. Large batches are split into
+ * ranges of boards which are handled in parallel.
+ *
+ * <p>Two rules are available. {@link #GREEDY} is the rule of
+ * {@link SimpleMove}: a random move among those which bring the shark closer
+ * to the player. {@link #BREADTH_FIRST} follows a shortest path to the player
+ * and falls back on the greedy rule when there is none.
+ *
+ * <p>Random choices come from the seed, the number of the call and the
+ * index of the board, so they do not depend on how boards are split across
+ * threads. Boards must not change while moves are being computed.
+ */
+public class BatchMove {
+    public static final int GREEDY = 0;
+    public static final int BREADTH_FIRST = 1;
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    /** Daemon threads shared by all instances. */
+    private static final ExecutorService pool = Executors.newFixedThreadPool(THREADS,
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "Batch moves");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    /** Boards copied out at a time by a worker. */
+    private static final int BLOCK = 64;
+
+    /* Batches are only split when every thread gets at least this many boards. */
+    private static final int MIN_BOARDS_PER_THREAD = 32;
+
+    private final int dimension;
+    private final int cells;
+    private final int rule;
+    private final long seed;
+    private final Neighbors neighbors;
+    private final List<Worker> workers;
+    private List<? extends BoardView> boards;
+    private int[] next;
+    private int calls;
+
+    /**
+     * Constructs a batch move generator.
+     *
+     * @param  dimension the dimension of the boards
+     * @param  rule {@link #GREEDY} or {@link #BREADTH_FIRST}
+     * @param  seed the seed of the random choices
+     * @throws IllegalArgumentException if the rule is unknown
+     */
+    public BatchMove(int dimension, int rule, long seed) {
+        if (rule != GREEDY && rule != BREADTH_FIRST) {
+            throw new IllegalArgumentException("Rule must be GREEDY or BREADTH_FIRST");
+        }
+        this.dimension = dimension;
+        this.rule = rule;
+        this.seed = seed;
+        cells = dimension * dimension;
+        neighbors = Board.getNeighbors(dimension);
+        workers = new ArrayList<Worker>(THREADS);
+        for (int i = 0; i < THREADS; ++i) {
+            workers.add(new Worker());
+        }
+    }
+
+    /**
+     * Computes the next shark move of every board. The move of board i is
+     * stored in {@code next[i]} as a cell index ({@code y * dimension + x}),
+     * or -1 if the shark should stay where it is.
+     *
+     * @throws NullPointerException if boards or next is null
+     * @throws IllegalArgumentException if next is shorter than the list of
+     *         boards or a board has the wrong dimension
+     */
+    public void compute(List<? extends BoardView> boards, int[] next) {
+        if (boards == null || next == null) {
+            throw new NullPointerException();
+        }
+        int count = boards.size();
+        if (next.length < count) {
+            throw new IllegalArgumentException("Next must have room for every board");
+        }
+        for (int i = 0; i < count; ++i) {
+            if (boards.get(i).getDimension() != dimension) {
+                throw new IllegalArgumentException("Boards must have dimension " + dimension);
+            }
+        }
+
+        this.boards = boards;
+        this.next = next;
+        ++calls;
+        int threads = Math.max(1, Math.min(THREADS, count / MIN_BOARDS_PER_THREAD));
+        try {
+            if (threads == 1) {
+                workers.get(0).setRange(0, count);
+                workers.get(0).call();
+            } else {
+                for (int i = 0; i < threads; ++i) {
+                    workers.get(i).setRange(count * i / threads, count * (i + 1) / threads);
+                }
+                pool.invokeAll(workers.subList(0, threads));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.boards = null;
+            this.next = null;
+        }
+    }
+
+    /** Returns the number of threads large batches are split across. */
+    public int getThreads() {
+        return THREADS;
+    }
+
+    /** Computes the moves of a range of boards, one block at a time. */
+    private class Worker implements Callable<Void> {
+        private final Random rand = new Random(0);
+        private final int[] sharks = new int[BLOCK];
+        private final int[] players = new int[BLOCK];
+        private final int[] goals = new int[BLOCK];
+        private final int[] open = new int[BLOCK];
+        private final int[] candidates = new int[4];
+        private boolean[] traversable;
+        private int[] distances;
+        private int[] seen;
+        private int[] queue;
+        private int generation;
+        private int from;
+        private int to;
+
+        void setRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Void call() {
+            if (rule == BREADTH_FIRST && traversable == null) {
+                traversable = new boolean[BLOCK * cells];
+                distances = new int[cells];
+                seen = new int[cells];
+                queue = new int[cells];
+            }
+            for (int start = from; start < to; start += BLOCK) {
+                int size = Math.min(BLOCK, to - start);
+                gather(start, size);
+                for (int i = 0; i < size; ++i) {
+                    rand.setSeed(Seeds.derive(seed, calls, start + i));
+                    next[start + i] = rule == GREEDY ? greedy(i) : breadthFirst(i);
+                }
+            }
+            return null;
+        }
+
+        /** Copies the state of a block of boards into the worker's arrays. */
+        private void gather(int start, int size) {
+            for (int i = 0; i < size; ++i) {
+                BoardView board = boards.get(start + i);
+                Position sharkPos = board.getSharkPosition();
+                Position playerPos = board.getPlayerPosition();
+                Position goalPos = board.getGoal();
+                int shark = sharkPos.y * dimension + sharkPos.x;
+                sharks[i] = shark;
+                players[i] = playerPos.y * dimension + playerPos.x;
+                goals[i] = goalPos.y * dimension + goalPos.x;
+                if (rule == GREEDY) {
+                    /* Bit j is set if the j-th neighbor of the shark is traversable. */
+                    int mask = 0;
+                    for (int j = neighbors.offsets[shark], end = neighbors.offsets[shark + 1]; j < end; ++j) {
+                        if (board.isSharkTraversable(neighbors.cells[j])) {
+                            mask |= 1 << (j - neighbors.offsets[shark]);
+                        }
+                    }
+                    open[i] = mask;
+                } else {
+                    int base = i * cells;
+                    for (int cell = 0; cell < cells; ++cell) {
+                        traversable[base + cell] = board.isSharkTraversable(cell);
+                    }
+                }
+            }
+        }
+
+        /** The rule of {@link SimpleMove}. */
+        private int greedy(int i) {
+            int shark = sharks[i];
+            int player = players[i];
+            int goal = goals[i];
+            int current = Board.islandDistance(shark, player, goal, dimension);
+            int count = 0;
+            for (int j = neighbors.offsets[shark], end = neighbors.offsets[shark + 1]; j < end; ++j) {
+                int cell = neighbors.cells[j];
+                if (isOpen(i, shark, j) && Board.islandDistance(cell, player, goal, dimension) < current) {
+                    candidates[count++] = cell;
+                }
+            }
+            return count == 0 ? -1 : candidates[rand.nextInt(count)];
+        }
+
+        private boolean isOpen(int i, int shark, int j) {
+            if (rule == GREEDY) {
+                return (open[i] & 1 << (j - neighbors.offsets[shark])) != 0;
+            }
+            return traversable[i * cells + neighbors.cells[j]];
+        }
+
+        /**
+         * Searches from the player until the shark is reached and then takes
+         * a random step down the distances.
+         */
+        private int breadthFirst(int i) {
+            int base = i * cells;
+            int shark = sharks[i];
+            int player = players[i];
+            ++generation;
+            distances[player] = 0;
+            seen[player] = generation;
+            queue[0] = player;
+            int head = 0;
+            int tail = 1;
+            while (head < tail && seen[shark] != generation) {
+                int cell = queue[head++];
+                int distance = distances[cell] + 1;
+                for (int j = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; j < end; ++j) {
+                    int neighbor = neighbors.cells[j];
+                    if (seen[neighbor] != generation && traversable[base + neighbor]) {
+                        seen[neighbor] = generation;
+                        distances[neighbor] = distance;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            if (seen[shark] != generation) {
+                return greedy(i);
+            }
+
+            /*
+             * Every cell closer to the player than the shark was reached
+             * before the shark was.
+             */
+            int count = 0;
+            for (int j = neighbors.offsets[shark], end = neighbors.offsets[shark + 1]; j < end; ++j) {
+                int cell = neighbors.cells[j];
+                if (seen[cell] == generation && distances[cell] < distances[shark]) {
+                    candidates[count++] = cell;
+                }
+            }
+            return count == 0 ? -1 : candidates[rand.nextInt(count)];
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Arrays;
+
+/**
+ * Bucket queue of cell indices for small non-negative integer keys (Dial's
+ * algorithm). Every key has a bucket holding a doubly linked list of cells,
+ * so insertion, removal and key changes take constant time. Removing the
+ * minimum scans forward from the last minimum, which is cheap when keys are
+ * mostly monotone, as the f-values of an A* search with a consistent
+ * heuristic on a grid with unit costs are.
+ */
+final class BucketQueue implements OpenList {
+    private final int[] heads;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] buckets;
+    private int size;
+    private int min;
+    private int max;
+
+    /**
+     * Creates a queue.
+     *
+     * @param cells the number of cells which can be queued
+     * @param maxKey the largest key which will be used
+     */
+    BucketQueue(int cells, int maxKey) {
+        heads = new int[maxKey + 1];
+        next = new int[cells];
+        prev = new int[cells];
+        buckets = new int[cells];
+        Arrays.fill(heads, -1);
+        Arrays.fill(buckets, -1);
+        min = heads.length;
+        max = -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int cell) {
+        return buckets[cell] >= 0;
+    }
+
+    @Override
+    public void put(int cell, long key) {
+        int bucket = (int)key;
+        if (buckets[cell] == bucket) {
+            return;
+        }
+        if (buckets[cell] >= 0) {
+            unlink(cell);
+        } else {
+            ++size;
+        }
+
+        /* Cells are pushed to the front, so ties are broken last in, first out. */
+        int head = heads[bucket];
+        next[cell] = head;
+        prev[cell] = -1;
+        if (head >= 0) {
+            prev[head] = cell;
+        }
+        heads[bucket] = cell;
+        buckets[cell] = bucket;
+        if (bucket < min) {
+            min = bucket;
+        }
+        if (bucket > max) {
+            max = bucket;
+        }
+    }
+
+    @Override
+    public int poll() {
+        while (heads[min] < 0) {
+            ++min;
+        }
+        int cell = heads[min];
+        unlink(cell);
+        buckets[cell] = -1;
+        --size;
+        return cell;
+    }
+
+    @Override
+    public void clear() {
+        for (int bucket = min; bucket <= max; ++bucket) {
+            for (int cell = heads[bucket]; cell >= 0; cell = next[cell]) {
+                buckets[cell] = -1;
+            }
+            heads[bucket] = -1;
+        }
+        size = 0;
+        min = heads.length;
+        max = -1;
+    }
+
+    private void unlink(int cell) {
+        int p = prev[cell];
+        int n = next[cell];
+        if (p >= 0) {
+            next[p] = n;
+        } else {
+            heads[buckets[cell]] = n;
+        }
+        if (n >= 0) {
+            prev[n] = p;
+        }
+    }
+}
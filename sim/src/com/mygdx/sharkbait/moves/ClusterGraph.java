@@ -0,0 +1,276 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Arrays;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Abstract graph of a board for hierarchical path finding (HPA*). The board
+ * is split into square clusters. Wherever two neighboring clusters are
+ * connected along their shared border, transition cells are placed on both
+ * sides, and the distances between the transition cells of a cluster are
+ * precomputed.
+ *
+ * <p>The graph keeps its own copy of the board's traversability. When it is
+ * refreshed, only clusters with changed cells (and neighbors whose shared
+ * border changed) are rebuilt.
+ */
+final class ClusterGraph {
+    /** Distance between cells which are not connected within a cluster. */
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /* Entrances at least this wide get a transition at each end. */
+    private static final int LONG_ENTRANCE = 6;
+
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final int clusterSize;
+    private final int clustersPerSide;
+    private final boolean[] traversable;
+    private final boolean[] dirty;
+    private final int[] slots;
+    private final int[][] nodes;
+    private final int[] nodeCounts;
+    private final int[][] distances;
+    private final int[] localDistances;
+    private final int[] queue;
+    private int searchCluster;
+
+    /**
+     * Creates a graph for a board in which no cell is traversable yet.
+     *
+     * @param  dimension the dimension of the board
+     * @param  clusterSize the width of a cluster in cells
+     * @throws IllegalArgumentException if clusterSize is less than 2
+     */
+    ClusterGraph(int dimension, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be 2 or greater");
+        }
+        this.dimension = dimension;
+        neighbors = Board.getNeighbors(dimension);
+        this.clusterSize = clusterSize;
+        clustersPerSide = (dimension + clusterSize - 1) / clusterSize;
+        int clusters = clustersPerSide * clustersPerSide;
+        traversable = new boolean[dimension * dimension];
+        dirty = new boolean[clusters];
+        slots = new int[dimension * dimension];
+        nodes = new int[clusters][4 * clusterSize];
+        nodeCounts = new int[clusters];
+        distances = new int[clusters][];
+        localDistances = new int[clusterSize * clusterSize];
+        queue = new int[clusterSize * clusterSize];
+        Arrays.fill(slots, -1);
+        searchCluster = -1;
+    }
+
+    /** Compares every cell with the board. */
+    void refreshAll(BoardView board) {
+        for (int cell = 0; cell < traversable.length; ++cell) {
+            refresh(board, cell);
+        }
+    }
+
+    /** Compares a single cell with the board. */
+    void refresh(BoardView board, int cell) {
+        boolean t = board.isSharkTraversable(cell);
+        if (t == traversable[cell]) {
+            return;
+        }
+        traversable[cell] = t;
+
+        /* Changes on a border also change the transitions of the neighbor. */
+        int x = cell % dimension;
+        int y = cell / dimension;
+        int cx = x / clusterSize;
+        int cy = y / clusterSize;
+        dirty[cy * clustersPerSide + cx] = true;
+        if (x % clusterSize == 0 && cx > 0) {
+            dirty[cy * clustersPerSide + cx - 1] = true;
+        }
+        if (x % clusterSize == clusterSize - 1 && x < dimension - 1) {
+            dirty[cy * clustersPerSide + cx + 1] = true;
+        }
+        if (y % clusterSize == 0 && cy > 0) {
+            dirty[(cy - 1) * clustersPerSide + cx] = true;
+        }
+        if (y % clusterSize == clusterSize - 1 && y < dimension - 1) {
+            dirty[(cy + 1) * clustersPerSide + cx] = true;
+        }
+    }
+
+    /**
+     * Rebuilds the transitions and distances of all clusters changed since
+     * the last call.
+     *
+     * @return the number of clusters rebuilt
+     */
+    int rebuildDirty() {
+        int rebuilt = 0;
+        for (int cluster = 0; cluster < dirty.length; ++cluster) {
+            if (dirty[cluster]) {
+                dirty[cluster] = false;
+                rebuild(cluster);
+                ++rebuilt;
+            }
+        }
+        searchCluster = -1;
+        return rebuilt;
+    }
+
+    boolean isTraversable(int cell) {
+        return traversable[cell];
+    }
+
+    int clusterOf(int cell) {
+        return (cell / dimension / clusterSize) * clustersPerSide + cell % dimension / clusterSize;
+    }
+
+    int getNodeCount(int cluster) {
+        return nodeCounts[cluster];
+    }
+
+    int getNode(int cluster, int slot) {
+        return nodes[cluster][slot];
+    }
+
+    /** Returns the slot of a transition cell within its cluster or -1. */
+    int getSlot(int cell) {
+        return slots[cell];
+    }
+
+    /** Returns the distance between two transition cells of a cluster. */
+    int getDistance(int cluster, int from, int to) {
+        return distances[cluster][from * nodeCounts[cluster] + to];
+    }
+
+    /**
+     * Runs a breadth-first search from a cell which only visits cells of the
+     * cell's cluster. The result is available through
+     * {@link #getLocalDistance(int)} until the next search.
+     */
+    void searchFrom(int source) {
+        searchCluster = clusterOf(source);
+        bfs(searchCluster, source);
+    }
+
+    /**
+     * Returns the distance of a cell from the source of the last search, or
+     * UNREACHABLE if the cell is outside the cluster or was not reached.
+     */
+    int getLocalDistance(int cell) {
+        if (clusterOf(cell) != searchCluster) {
+            return UNREACHABLE;
+        }
+        return localDistances[local(cell)];
+    }
+
+    private void rebuild(int cluster) {
+        int[] clusterNodes = nodes[cluster];
+        for (int i = 0; i < nodeCounts[cluster]; ++i) {
+            slots[clusterNodes[i]] = -1;
+        }
+        nodeCounts[cluster] = 0;
+
+        int x0 = cluster % clustersPerSide * clusterSize;
+        int y0 = cluster / clustersPerSide * clusterSize;
+        int width = Math.min(clusterSize, dimension - x0);
+        int height = Math.min(clusterSize, dimension - y0);
+        if (x0 > 0) {
+            scanBorder(cluster, y0 * dimension + x0, dimension, height, -1); // Left.
+        }
+        if (x0 + width < dimension) {
+            scanBorder(cluster, y0 * dimension + x0 + width - 1, dimension, height, 1); // Right.
+        }
+        if (y0 > 0) {
+            scanBorder(cluster, y0 * dimension + x0, 1, width, -dimension); // Up.
+        }
+        if (y0 + height < dimension) {
+            scanBorder(cluster, (y0 + height - 1) * dimension + x0, 1, width, dimension); // Down.
+        }
+
+        int count = nodeCounts[cluster];
+        if (distances[cluster] == null || distances[cluster].length < count * count) {
+            distances[cluster] = new int[count * count];
+        }
+        int[] d = distances[cluster];
+        for (int i = 0; i < count; ++i) {
+            bfs(cluster, clusterNodes[i]);
+            for (int j = 0; j < count; ++j) {
+                d[i * count + j] = localDistances[local(clusterNodes[j])];
+            }
+        }
+    }
+
+    /**
+     * Places transitions along one border of a cluster. Runs of cells which
+     * are open on both sides of the border become entrances.
+     *
+     * @param first the first border cell inside the cluster
+     * @param step the offset between consecutive border cells
+     * @param length the number of border cells
+     * @param across the offset of the cell on the other side of the border
+     */
+    private void scanBorder(int cluster, int first, int step, int length, int across) {
+        int start = -1;
+        for (int i = 0; i <= length; ++i) {
+            int cell = first + i * step;
+            boolean open = i < length && traversable[cell] && traversable[cell + across];
+            if (open && start < 0) {
+                start = i;
+            } else if (!open && start >= 0) {
+                if (i - start < LONG_ENTRANCE) {
+                    addNode(cluster, first + (start + (i - start) / 2) * step);
+                } else {
+                    addNode(cluster, first + start * step);
+                    addNode(cluster, first + (i - 1) * step);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private void addNode(int cluster, int cell) {
+        if (slots[cell] < 0) {
+            slots[cell] = nodeCounts[cluster];
+            nodes[cluster][nodeCounts[cluster]++] = cell;
+        }
+    }
+
+    /** Breadth-first search restricted to a cluster. */
+    private void bfs(int cluster, int source) {
+        Arrays.fill(localDistances, UNREACHABLE);
+        if (!traversable[source]) {
+            return;
+        }
+        localDistances[local(source)] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = localDistances[local(cell)] + 1;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                if (clusterOf(neighbors.cells[i]) == cluster) {
+                    tail = enqueue(neighbors.cells[i], next, tail);
+                }
+            }
+        }
+    }
+
+    private int enqueue(int cell, int distance, int tail) {
+        int i = local(cell);
+        if (localDistances[i] == UNREACHABLE && traversable[cell]) {
+            localDistances[i] = distance;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /** Returns the index of a cell within its cluster. */
+    private int local(int cell) {
+        return (cell / dimension % clusterSize) * clusterSize + cell % dimension % clusterSize;
+    }
+}
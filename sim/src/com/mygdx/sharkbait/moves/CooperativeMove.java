@@ -0,0 +1,266 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.List;
+
+import com.mygdx.sharkbait.entities.Shark;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.DistanceField;
+import com.mygdx.sharkbait.world.World;
+
+/**
+ * Generates moves for all the sharks of a world together (windowed
+ * cooperative A*). Sharks are planned one after another, closest to the
+ * player first, with a space-time A* search limited to a small window of
+ * moves. Every planned path is written into a reservation table which later
+ * sharks treat as obstacles, so sharks neither share a cell nor swap places.
+ *
+ * <p>The world's distance field serves as the heuristic. It is exact when
+ * there are no other sharks in the way, so each search expands little more
+ * than the cells along its path and the cost of a computation grows linearly
+ * with the number of sharks.
+ */
+public class CooperativeMove {
+    private static final int DEFAULT_WINDOW = 8;
+
+    private final World world;
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final int cells;
+    private final int window;
+    private final int sharkCount;
+    private final boolean[] traversable;
+    private final int[] reservedBy;
+    private final int[] reservedStamp;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final IntHeap open;
+    private final int[] order;
+    private final int[] distances;
+    private final int[] next;
+    private int stamp;
+    private int generation;
+    private int rockVersion;
+    private Position player;
+    private int playerCell;
+    private DistanceField field;
+    private int expanded;
+
+    /** Constructs a move generator for the sharks of the specified world. */
+    public CooperativeMove(World world) {
+        this(world, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructs a move generator for the sharks of the specified world.
+     *
+     * @param  world the world whose sharks are moved
+     * @param  window the number of moves planned ahead for every shark
+     * @throws IllegalArgumentException if window is less than 1
+     */
+    public CooperativeMove(World world, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be 1 or greater");
+        }
+        this.world = world;
+        this.window = window;
+        dimension = world.getDimension();
+        neighbors = Board.getNeighbors(dimension);
+        cells = dimension * dimension;
+        sharkCount = world.getSharks().size();
+        int states = (window + 1) * cells;
+        traversable = new boolean[cells];
+        reservedBy = new int[states];
+        reservedStamp = new int[states];
+        parent = new int[states];
+        seen = new int[states];
+        closed = new int[states];
+        open = new IntHeap(states);
+        order = new int[sharkCount];
+        distances = new int[sharkCount];
+        next = new int[sharkCount];
+        rockVersion = -1;
+    }
+
+    /**
+     * Plans the next moves of all sharks. Should be called once before the
+     * sharks are moved.
+     */
+    public void compute() {
+        List<Shark> sharks = world.getSharks();
+        Position p = world.getPlayer().getPosition();
+        if (!p.equals(player) || world.getRockVersion() != rockVersion) {
+            player = p;
+            playerCell = p.y * dimension + p.x;
+            rockVersion = world.getRockVersion();
+            for (int i = 0; i < cells; ++i) {
+                traversable[i] = world.isSharkTraversable(i);
+            }
+        }
+        field = world.getDistanceField();
+        expanded = 0;
+        ++stamp;
+
+        /*
+         * Every shark holds its cell for the first move, so no shark moves
+         * into a cell whose owner has not been planned yet and might stay.
+         */
+        for (int i = 0; i < sharkCount; ++i) {
+            Position s = sharks.get(i).getPosition();
+            int cell = s.y * dimension + s.x;
+            reserve(0, cell, i);
+            reserve(1, cell, i);
+            distances[i] = heuristic(cell);
+            order[i] = i;
+        }
+
+        /* Insertion sort; the sharks are mostly in order from the last call. */
+        for (int i = 1; i < sharkCount; ++i) {
+            int shark = order[i];
+            int j = i - 1;
+            while (j >= 0 && distances[order[j]] > distances[shark]) {
+                order[j + 1] = order[j];
+                --j;
+            }
+            order[j + 1] = shark;
+        }
+
+        for (int i = 0; i < sharkCount; ++i) {
+            int shark = order[i];
+            Shark s = sharks.get(shark);
+            Position pos = s.getPosition();
+            int cell = pos.y * dimension + pos.x;
+            if (s.getState() == Shark.IDLE || s.getState() == Shark.MOVING) {
+                next[shark] = plan(shark, cell);
+            } else {
+                /* Attacking sharks stay where they are. */
+                for (int t = 0; t <= window; ++t) {
+                    reserve(t, cell, shark);
+                }
+                next[shark] = -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the planned move of a shark or null if the shark should stay
+     * where he is.
+     *
+     * @param index the index of the shark in {@link World#getSharks()}
+     */
+    public Position getNext(int index) {
+        int cell = next[index];
+        return cell < 0 ? null : Position.of(cell % dimension, cell / dimension);
+    }
+
+    /** Returns the number of states expanded during the last computation. */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Runs a space-time A* search for one shark and reserves the resulting
+     * path.
+     *
+     * @return the first move or -1 if the shark should stay
+     */
+    private int plan(int shark, int start) {
+        open.clear();
+        ++generation;
+        seen[start] = generation;
+        parent[start] = -1;
+        open.put(start, key(0, start));
+        int end = start;
+
+        while (!open.isEmpty()) {
+            int state = open.poll();
+            int t = state / cells;
+            int cell = state - t * cells;
+            closed[state] = generation;
+            ++expanded;
+            if (t == window || isAdjacent(cell, playerCell)) {
+                end = state;
+                break;
+            }
+
+            expand(shark, state, t, cell, cell); // Waits.
+            for (int i = neighbors.offsets[cell], last = neighbors.offsets[cell + 1]; i < last; ++i) {
+                expand(shark, state, t, cell, neighbors.cells[i]);
+            }
+        }
+
+        /* Reserves the path and keeps the last cell for the rest of the window. */
+        int t = end / cells;
+        int last = end - t * cells;
+        for (int u = t; u <= window; ++u) {
+            reserve(u, last, shark);
+        }
+        int first = -1;
+        for (int state = end; parent[state] >= 0; state = parent[state]) {
+            int u = state / cells;
+            reserve(u, state - u * cells, shark);
+            if (u == 1) {
+                first = state - cells;
+            }
+        }
+        return first == start ? -1 : first;
+    }
+
+    private void expand(int shark, int state, int t, int cell, int target) {
+        int successor = (t + 1) * cells + target;
+        if (closed[successor] == generation || !traversable[target]
+                || isReservedByOther(t + 1, target, shark)) {
+            return;
+        }
+        /* Two sharks may not swap places. */
+        if (target != cell && isReservedByOther(t, target, shark)
+                && owner(t, target) == owner(t + 1, cell)) {
+            return;
+        }
+        if (seen[successor] != generation) {
+            seen[successor] = generation;
+            parent[successor] = state;
+            open.put(successor, key(t + 1, target));
+        }
+    }
+
+    /**
+     * Orders states by estimated length and then by depth, deepest first, so
+     * that ties are broken towards the player.
+     */
+    private long key(int t, int cell) {
+        return (long)(t + heuristic(cell)) * (window + 1) + (window - t);
+    }
+
+    /** Moves needed to get next to the player. */
+    private int heuristic(int cell) {
+        int distance = field.getDistance(cell);
+        if (distance == DistanceField.UNREACHABLE) {
+            distance = Math.abs(cell % dimension - playerCell % dimension)
+                    + Math.abs(cell / dimension - playerCell / dimension);
+        }
+        return Math.max(0, distance - 1);
+    }
+
+    private void reserve(int t, int cell, int shark) {
+        int state = t * cells + cell;
+        reservedStamp[state] = stamp;
+        reservedBy[state] = shark;
+    }
+
+    private boolean isReservedByOther(int t, int cell, int shark) {
+        int state = t * cells + cell;
+        return reservedStamp[state] == stamp && reservedBy[state] != shark;
+    }
+
+    private int owner(int t, int cell) {
+        int state = t * cells + cell;
+        return reservedStamp[state] == stamp ? reservedBy[state] : -1;
+    }
+
+    private boolean isAdjacent(int a, int b) {
+        return Math.abs(a % dimension - b % dimension) + Math.abs(a / dimension - b / dimension) == 1;
+    }
+}
@@ -0,0 +1,272 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Arrays;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Generates moves for the shark using D* Lite adapted to a moving target
+ * (Basic Moving Target D* Lite). The search is rooted at the shark and keeps
+ * its state between calls. When the player moves, the key modifier absorbs
+ * the change of target; when the shark moves, only the distances of its old
+ * and new cell change; and when rocks change, only the cells whose
+ * traversability changed (and the cells whose distances depend on them) are
+ * repaired. The search is never restarted within a level. If the player
+ * cannot be reached, the shark follows an A* path to the closest cell found.
+ */
+public class DStarLiteMove implements Mover {
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    private final BoardView board;
+    private final int dimension;
+    private final int[] g;
+    private final int[] rhs;
+    private final int[] stamps;
+    private final boolean[] traversable;
+    private final Neighbors neighbors;
+    private final IntHeap open;
+    private final AStarSearch fallback;
+    private final int[] path;
+    private final int[] changed;
+    private int generation;
+    private int root;
+    private int target;
+    private int km;
+    private int rockVersion;
+    private boolean initialized;
+
+    /** Constructs a move generator for the specified board. */
+    public DStarLiteMove(BoardView board) {
+        int cells = board.getDimension() * board.getDimension();
+        this.board = board;
+        dimension = board.getDimension();
+        g = new int[cells];
+        rhs = new int[cells];
+        stamps = new int[cells];
+        traversable = new boolean[cells];
+        neighbors = Board.getNeighbors(dimension);
+        open = new IntHeap(cells);
+        fallback = new AStarSearch(dimension);
+        path = new int[cells];
+        changed = new int[cells];
+    }
+
+    @Override
+    public Position getNext() {
+        update();
+
+        int next = getRhs(target) >= INFINITY ? closestStep() : firstStep();
+        return next < 0 ? null : Position.of(next % dimension, next / dimension);
+    }
+
+    @Override
+    public void compute() {
+        update();
+    }
+
+    /**
+     * Brings the search up to date with the board and recomputes the shortest
+     * path to the player's position.
+     */
+    private void update() {
+        Position sharkPos = board.getSharkPosition();
+        Position playerPos = board.getPlayerPosition();
+        int shark = sharkPos.y * dimension + sharkPos.x;
+        int player = playerPos.y * dimension + playerPos.x;
+
+        if (!initialized) {
+            for (int i = 0; i < traversable.length; ++i) {
+                traversable[i] = board.isSharkTraversable(i);
+            }
+            reset(shark, player);
+        } else {
+            int oldTarget = target;
+            if (player != target) {
+                km += Board.distanceL1(target, player, dimension);
+                target = player;
+            }
+            if (shark != root) {
+                int oldRoot = root;
+                root = shark;
+                updateVertex(root);
+                updateVertex(oldRoot);
+            }
+            /*
+             * Only the cells whose rocks changed and the cells of the old and
+             * new player position can differ. Every cell is examined if a
+             * rock change was missed or if the board does not know which
+             * cells changed.
+             */
+            int version = board.getRockVersion();
+            int count = version == rockVersion ? 0
+                    : version == rockVersion + 1 ? board.getChangedCells(changed) : -1;
+            if (count < 0) {
+                for (int i = 0; i < traversable.length; ++i) {
+                    updateTraversable(i);
+                }
+            } else {
+                for (int i = 0; i < count; ++i) {
+                    updateTraversable(changed[i]);
+                }
+                if (player != oldTarget) {
+                    updateTraversable(oldTarget);
+                    updateTraversable(player);
+                }
+            }
+        }
+        rockVersion = board.getRockVersion();
+        initialized = true;
+
+        computeShortestPath();
+    }
+
+    /** Discards all search state and roots a new search at the shark. */
+    private void reset(int shark, int player) {
+        if (++generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        open.clear();
+        km = 0;
+        root = shark;
+        target = player;
+        setRhs(root, 0);
+        open.put(root, calculateKey(root));
+    }
+
+    /** Repairs the search around a cell if its traversability has changed. */
+    private void updateTraversable(int cell) {
+        boolean t = board.isSharkTraversable(cell);
+        if (t != traversable[cell]) {
+            traversable[cell] = t;
+            updateVertex(cell);
+            updateNeighbors(cell);
+        }
+    }
+
+    private void computeShortestPath() {
+        while (!open.isEmpty()
+                && (open.peekKey() < calculateKey(target) || getRhs(target) != getG(target))) {
+            int u = open.peek();
+            long oldKey = open.peekKey();
+            long newKey = calculateKey(u);
+            if (oldKey < newKey) {
+                open.put(u, newKey);
+            } else if (getG(u) > getRhs(u)) { // Overconsistent.
+                setG(u, getRhs(u));
+                open.remove(u);
+                updateNeighbors(u);
+            } else { // Underconsistent.
+                setG(u, INFINITY);
+                updateNeighbors(u);
+                updateVertex(u);
+            }
+        }
+    }
+
+    private void updateNeighbors(int u) {
+        for (int i = neighbors.offsets[u], end = neighbors.offsets[u + 1]; i < end; ++i) {
+            updateVertex(neighbors.cells[i]);
+        }
+    }
+
+    private void updateVertex(int u) {
+        if (u == root) {
+            setRhs(u, 0);
+        } else {
+            int best = INFINITY;
+            if (traversable[u]) {
+                for (int i = neighbors.offsets[u], end = neighbors.offsets[u + 1]; i < end; ++i) {
+                    best = Math.min(best, cost(neighbors.cells[i]));
+                }
+            }
+            setRhs(u, best);
+        }
+        if (getG(u) != getRhs(u)) {
+            open.put(u, calculateKey(u));
+        } else {
+            open.remove(u);
+        }
+    }
+
+    /** Returns the cost of reaching a neighbor of the specified cell through it. */
+    private int cost(int cell) {
+        if (!traversable[cell] && cell != root) {
+            return INFINITY;
+        }
+        int gCell = getG(cell);
+        return gCell >= INFINITY ? INFINITY : gCell + 1;
+    }
+
+    private long calculateKey(int cell) {
+        int m = Math.min(getG(cell), getRhs(cell));
+        if (m >= INFINITY) {
+            return Long.MAX_VALUE;
+        }
+        long k1 = m + Board.distanceL1(cell, target, dimension) + (long)km;
+        return (k1 << 32) | m;
+    }
+
+    /**
+     * Walks the shortest path back from the player and returns the cell of
+     * the path next to the shark, or -1 if the shark is already there.
+     */
+    private int firstStep() {
+        int cell = target;
+        for (int steps = getG(target); steps > 1; --steps) {
+            int previous = -1;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                int neighbor = neighbors.cells[i];
+                if (getG(neighbor) == steps - 1 && (traversable[neighbor] || neighbor == root)) {
+                    previous = neighbor;
+                    break;
+                }
+            }
+            if (previous < 0) {
+                return closestStep();
+            }
+            cell = previous;
+        }
+        return cell == root ? -1 : cell;
+    }
+
+    /**
+     * Used when the player cannot be reached. Returns the first cell of the A*
+     * path to the cell that gets the closest to the player, or -1 if the
+     * shark is already there.
+     */
+    private int closestStep() {
+        int size = fallback.search(board, root, target, path);
+        return size == 0 ? -1 : path[size - 1];
+    }
+
+    private int getG(int cell) {
+        return stamps[cell] == generation ? g[cell] : INFINITY;
+    }
+
+    private int getRhs(int cell) {
+        return stamps[cell] == generation ? rhs[cell] : INFINITY;
+    }
+
+    private void setG(int cell, int value) {
+        touch(cell);
+        g[cell] = value;
+    }
+
+    private void setRhs(int cell, int value) {
+        touch(cell);
+        rhs[cell] = value;
+    }
+
+    /** Lazily initializes the state of a cell for the current search. */
+    private void touch(int cell) {
+        if (stamps[cell] != generation) {
+            stamps[cell] = generation;
+            g[cell] = INFINITY;
+            rhs[cell] = INFINITY;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.mygdx.sharkbait.moves;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Generates moves for the shark with a depth-limited expectimax search which
+ * takes rock changes into account. Instead of treating the current board as
+ * permanent, every cell is given the probability of being surfaced after a
+ * number of rock changes, derived from the surface and submerge
+ * probabilities. The player is modeled as a chance node which hops to nearby
+ * rocks, preferring hops towards the island, and only the most likely hops
+ * are expanded (beam search).
+ *
+ * <p>The search uses iterative deepening under a hard time budget, so a move
+ * is always available on time. The move of the deepest completed iteration is
+ * used.
+ */
+public class ExpectimaxMove implements Mover {
+    private static final int MAX_DEPTH = 32;
+    private static final float WIN = 1000;
+
+    private final BoardView board;
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final float stationary;
+    private final long budgetNanos;
+    private final int beamWidth;
+    private final boolean[] surfaced;
+    private final float[] decay;
+    private final int[][] hopCells;
+    private final float[][] hopWeights;
+    private int goal;
+    private int maxDepth;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int completedDepth;
+    private float nodesPerSecond;
+    private Position next;
+
+    /**
+     * Constructs a move generator.
+     *
+     * @param  board the board to generate moves for
+     * @param  surfaceProbability probability out of 100 of a submerged rock
+     *         surfacing when rocks change
+     * @param  submergeProbability probability out of 100 of a surfaced rock
+     *         submerging when rocks change
+     * @param  rockChangesPerMove the number of rock changes which happen
+     *         between two shark moves (shark move delay divided by the rock
+     *         change interval)
+     * @param  budgetMillis the maximum time spent searching per move
+     * @param  beamWidth the maximum number of player hops expanded per node
+     * @throws IllegalArgumentException if a probability is not between 0 and
+     *         100 or rockChangesPerMove is negative
+     */
+    public ExpectimaxMove(BoardView board, int surfaceProbability, int submergeProbability,
+            float rockChangesPerMove, int budgetMillis, int beamWidth) {
+        if (surfaceProbability < 0 || surfaceProbability > 100) {
+            throw new IllegalArgumentException("Surface probability must be between 0 and 100");
+        }
+        if (submergeProbability < 0 || submergeProbability > 100) {
+            throw new IllegalArgumentException("Submerge probability must be between 0 and 100");
+        }
+        if (!(rockChangesPerMove >= 0)) {
+            throw new IllegalArgumentException("Rock changes per move must be 0 or greater");
+        }
+        this.board = board;
+        this.beamWidth = Math.max(1, Math.min(5, beamWidth));
+        dimension = board.getDimension();
+        neighbors = Board.getNeighbors(dimension);
+        budgetNanos = budgetMillis * 1000000L;
+
+        /*
+         * A cell's surfaced state is a two-state Markov chain. After t rock
+         * changes, P(surfaced) = stationary + (p0 - stationary) * retention^t.
+         */
+        int sum = surfaceProbability + submergeProbability;
+        stationary = sum == 0 ? 0 : (float)surfaceProbability / sum;
+        float retention = 1 - sum / 100f;
+
+        surfaced = new boolean[dimension * dimension];
+        decay = new float[MAX_DEPTH + 1];
+        hopCells = new int[MAX_DEPTH + 1][5];
+        hopWeights = new float[MAX_DEPTH + 1][5];
+        for (int depth = 0; depth <= MAX_DEPTH; ++depth) {
+            /*
+             * A fractional number of changes means either of the two nearest
+             * whole numbers of changes, so the decay is their expectation.
+             * Whole powers stay defined when more than 100 percent of cells
+             * flip in total and the chain alternates (retention < 0).
+             */
+            double changes = depth * rockChangesPerMove;
+            double whole = Math.floor(changes);
+            double fraction = changes - whole;
+            decay[depth] = (float)((1 - fraction) * Math.pow(retention, whole)
+                    + fraction * Math.pow(retention, whole + 1));
+        }
+    }
+
+    @Override
+    public Position getNext() {
+        return next;
+    }
+
+    @Override
+    public void compute() {
+        long start = System.nanoTime();
+        Position goalPos = board.getGoal();
+        Position sharkPos = board.getSharkPosition();
+        Position playerPos = board.getPlayerPosition();
+        goal = goalPos.y * dimension + goalPos.x;
+        int shark = sharkPos.y * dimension + sharkPos.x;
+        int player = playerPos.y * dimension + playerPos.x;
+
+        for (int i = 0; i < surfaced.length; ++i) {
+            surfaced[i] = i != goal && !board.isSharkTraversable(i);
+        }
+        surfaced[player] = player != goal;
+
+        nodes = 0;
+        completedDepth = 0;
+        int best = -1;
+
+        /* The first iteration is cheap and always runs to completion. */
+        deadline = Long.MAX_VALUE;
+        for (int depth = 1; depth <= MAX_DEPTH; ++depth) {
+            maxDepth = depth;
+            aborted = false;
+            int move = searchRoot(shark, player);
+            if (aborted) {
+                break;
+            }
+            best = move;
+            completedDepth = depth;
+            if (depth == 1) {
+                deadline = start + budgetNanos;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                break;
+            }
+        }
+
+        float elapsed = (System.nanoTime() - start) / 1e9f;
+        nodesPerSecond = elapsed > 0 ? nodes / elapsed : 0;
+        next = best < 0 ? null : Position.of(best % dimension, best / dimension);
+    }
+
+    /** Returns the depth of the last completed iteration. */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /** Returns the number of nodes visited during the last computation. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /** Returns the search speed of the last computation. */
+    public float getNodesPerSecond() {
+        return nodesPerSecond;
+    }
+
+    /** Returns the best first move or -1 if staying put is best. */
+    private int searchRoot(int shark, int player) {
+        float bestValue = playerNode(shark, player, 0);
+        int best = -1;
+        for (int i = neighbors.offsets[shark], end = neighbors.offsets[shark + 1]; i < end; ++i) {
+            int cell = neighbors.cells[i];
+            if (!board.isSharkTraversable(cell)) {
+                continue; // The current board is known exactly.
+            }
+            float value = playerNode(cell, player, 0);
+            if (aborted) {
+                return -1;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /** Value of a state in which the shark is about to move. */
+    private float sharkNode(int shark, int player, int depth) {
+        if (++nodes % 1024 == 0 && System.nanoTime() - deadline > 0) {
+            aborted = true;
+            return 0;
+        }
+        if (player == goal) {
+            return -WIN + depth; // The player got away.
+        }
+        if (isAdjacent(shark, player)) {
+            return WIN - depth; // The shark attacks.
+        }
+        if (depth == maxDepth) {
+            return -Board.islandDistance(shark, player, goal, dimension);
+        }
+
+        /* Moving onto a cell that surfaced leaves the shark where he is. */
+        float stay = playerNode(shark, player, depth);
+        float best = stay;
+        for (int i = neighbors.offsets[shark], end = neighbors.offsets[shark + 1]; i < end && !aborted; ++i) {
+            int cell = neighbors.cells[i];
+            if (cell == goal) {
+                continue;
+            }
+            float open = 1 - surfacedProbability(cell, depth);
+            if (open > 0) {
+                float value = open * playerNode(cell, player, depth) + (1 - open) * stay;
+                best = Math.max(best, value);
+            }
+        }
+        return best;
+    }
+
+    /** Value of a state in which the player is about to hop. */
+    private float playerNode(int shark, int player, int depth) {
+        int[] cells = hopCells[depth];
+        float[] weights = hopWeights[depth];
+        int count = 0;
+
+        cells[count] = player;
+        weights[count++] = 1;
+        int distance = Board.distanceL1(player, goal, dimension);
+        for (int i = neighbors.offsets[player], end = neighbors.offsets[player + 1]; i < end; ++i) {
+            int cell = neighbors.cells[i];
+            if (cell == shark) {
+                continue;
+            }
+            float weight = cell == goal ? 1 : surfacedProbability(cell, depth + 1);
+            if (weight > 0) {
+                if (Board.distanceL1(cell, goal, dimension) < distance) {
+                    weight *= 2; // Players usually head for the island.
+                }
+                cells[count] = cell;
+                weights[count++] = weight;
+            }
+        }
+
+        /* Keeps the most likely hops. */
+        for (int i = 0; i < count - 1; ++i) {
+            for (int j = i + 1; j < count; ++j) {
+                if (weights[j] > weights[i]) {
+                    float w = weights[i];
+                    weights[i] = weights[j];
+                    weights[j] = w;
+                    int c = cells[i];
+                    cells[i] = cells[j];
+                    cells[j] = c;
+                }
+            }
+        }
+        count = Math.min(count, beamWidth);
+
+        float total = 0;
+        float value = 0;
+        for (int i = 0; i < count && !aborted; ++i) {
+            /* The arrays belong to this depth so they stay valid. */
+            value += weights[i] * sharkNode(shark, cells[i], depth + 1);
+            total += weights[i];
+        }
+        return value / total;
+    }
+
+    /** Probability of a cell being surfaced when the shark makes move "depth". */
+    private float surfacedProbability(int cell, int depth) {
+        float initial = surfaced[cell] ? 1 : 0;
+        return stationary + (initial - stationary) * decay[depth];
+    }
+
+    private boolean isAdjacent(int a, int b) {
+        return Math.abs(a % dimension - b % dimension) + Math.abs(a / dimension - b / dimension) == 1;
+    }
+}
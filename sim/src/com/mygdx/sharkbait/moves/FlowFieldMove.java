@@ -0,0 +1,82 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Random;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.DistanceField;
+import com.mygdx.sharkbait.world.World;
+
+/**
+ * Generates moves for the shark by descending the world's distance field. The
+ * field is shared by every mover of the world so a move costs only a look at
+ * the shark's neighbors. If the player cannot be reached, moves are generated
+ * the same way as {@link SimpleMove}.
+ */
+public class FlowFieldMove implements Mover {
+    private final World world;
+    private final Random rand;
+    private final SimpleMove fallback;
+    private final int[] candidates;
+    private Position next;
+
+    /**
+     * Constructs a move generator for the specified world which breaks ties
+     * between equally good moves with random numbers from the specified seed.
+     */
+    public FlowFieldMove(World world, long seed) {
+        this(world, new Random(seed));
+    }
+
+    /**
+     * Constructs a move generator for the specified world which breaks ties
+     * between equally good moves with the specified source of randomness.
+     */
+    public FlowFieldMove(World world, Random rand) {
+        this.world = world;
+        this.rand = rand;
+        fallback = new SimpleMove(world, rand);
+        candidates = new int[4];
+    }
+
+    @Override
+    public Position getNext() {
+        return next;
+    }
+
+    @Override
+    public void compute() {
+        DistanceField field = world.getDistanceField();
+        int dimension = world.getDimension();
+        Position current = world.getShark().getPosition();
+        int cell = current.y * dimension + current.x;
+        int distance = field.getDistance(cell);
+
+        if (distance == DistanceField.UNREACHABLE) {
+            fallback.compute();
+            next = fallback.getNext();
+            return;
+        }
+
+        /*
+         * The field is rooted at the player, who may be on the island while
+         * hopping onto it, so the root itself is not always traversable.
+         */
+        Neighbors neighbors = Board.getNeighbors(dimension);
+        int count = 0;
+        for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+            int neighbor = neighbors.cells[i];
+            if (field.getDistance(neighbor) < distance && world.isSharkTraversable(neighbor)) {
+                candidates[count++] = neighbor;
+            }
+        }
+
+        if (count == 0) {
+            next = null;
+        } else {
+            int chosen = candidates[rand.nextInt(count)];
+            next = Position.of(chosen % dimension, chosen / dimension);
+        }
+    }
+}
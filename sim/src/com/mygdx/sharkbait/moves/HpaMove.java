@@ -0,0 +1,297 @@
+package com.mygdx.sharkbait.moves;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Generates moves for the shark with hierarchical path finding (HPA*), which
+ * keeps large boards fast. A path is first planned over the transition cells
+ * of a {@link ClusterGraph} and only the part the shark is about to follow is
+ * refined into single moves, one cluster at a time. When rocks change, only
+ * the clusters containing changed cells are rebuilt.
+ *
+ * <p>Abstract paths are close to, but not always exactly, the shortest.
+ */
+public class HpaMove implements Mover {
+    private static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    private final BoardView board;
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final ClusterGraph graph;
+    private final int[] g;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final IntHeap open;
+    private final int[] srcCosts;
+    private final int[] dstCosts;
+    private final int[] waypoints;
+    private final int[] segment;
+    private final int[] changed;
+    private int generation;
+    private int rockVersion;
+    private int playerCell;
+    private int waypointCount;
+    private int waypointCursor;
+    private int segmentSize;
+    private int segmentCursor;
+    private int expected;
+    private int expanded;
+    private int rebuilt;
+
+    /** Constructs a move generator for the specified board. */
+    public HpaMove(BoardView board) {
+        this(board, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Constructs a move generator for the specified board.
+     *
+     * @param  board the board to generate moves for
+     * @param  clusterSize the width of a cluster in cells
+     * @throws IllegalArgumentException if clusterSize is less than 2
+     */
+    public HpaMove(BoardView board, int clusterSize) {
+        int cells = board.getDimension() * board.getDimension();
+        this.board = board;
+        dimension = board.getDimension();
+        neighbors = Board.getNeighbors(dimension);
+        graph = new ClusterGraph(dimension, clusterSize);
+        g = new int[cells];
+        parent = new int[cells];
+        seen = new int[cells];
+        closed = new int[cells];
+        open = new IntHeap(cells);
+        srcCosts = new int[4 * clusterSize];
+        dstCosts = new int[4 * clusterSize];
+        waypoints = new int[cells];
+        segment = new int[clusterSize * clusterSize];
+        changed = new int[cells];
+        playerCell = -1;
+    }
+
+    @Override
+    public Position getNext() {
+        Position sharkPos = board.getSharkPosition();
+        int shark = sharkPos.y * dimension + sharkPos.x;
+        while (waypointCursor < waypointCount && waypoints[waypointCursor] == shark) {
+            ++waypointCursor;
+        }
+        if (waypointCursor == waypointCount) {
+            return null;
+        }
+
+        /* Refines the next part of the path if needed. */
+        if (shark != expected || segmentCursor == segmentSize) {
+            if (!refine(shark, waypoints[waypointCursor])) {
+                return null;
+            }
+        }
+        int next = segment[segmentCursor++];
+        expected = next;
+        return Position.of(next % dimension, next / dimension);
+    }
+
+    @Override
+    public void compute() {
+        Position srcPos = board.getSharkPosition();
+        Position dstPos = board.getPlayerPosition();
+        int src = srcPos.y * dimension + srcPos.x;
+        int dst = dstPos.y * dimension + dstPos.x;
+
+        /*
+         * Only the cells whose rocks changed and the cells the player left and
+         * entered can have changed. Every cell is examined the first time, if
+         * a rock change was missed or if the board does not know which cells
+         * changed.
+         */
+        int version = board.getRockVersion();
+        int count = playerCell < 0 ? -1
+                : version == rockVersion ? 0
+                : version == rockVersion + 1 ? board.getChangedCells(changed) : -1;
+        rockVersion = version;
+        if (count < 0) {
+            graph.refreshAll(board);
+        } else {
+            for (int i = 0; i < count; ++i) {
+                graph.refresh(board, changed[i]);
+            }
+            if (dst != playerCell) {
+                graph.refresh(board, playerCell);
+                graph.refresh(board, dst);
+            }
+        }
+        playerCell = dst;
+        rebuilt = graph.rebuildDirty();
+
+        search(src, dst);
+        segmentSize = 0;
+        segmentCursor = 0;
+        expected = src;
+    }
+
+    /** Returns the number of abstract nodes expanded by the last search. */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /** Returns the number of clusters rebuilt by the last computation. */
+    public int getRebuiltClusters() {
+        return rebuilt;
+    }
+
+    /**
+     * Searches the abstract graph. The shark and the player are connected to
+     * the transition cells of their clusters for the duration of the search.
+     * If the player cannot be reached, the path leads to the node closest to
+     * him.
+     */
+    private void search(int src, int dst) {
+        ++generation;
+        open.clear();
+        expanded = 0;
+
+        int srcCluster = graph.clusterOf(src);
+        int dstCluster = graph.clusterOf(dst);
+        graph.searchFrom(dst);
+        fillCosts(dstCluster, dstCosts);
+        int direct = graph.getLocalDistance(src);
+        graph.searchFrom(src);
+        fillCosts(srcCluster, srcCosts);
+
+        g[src] = 0;
+        parent[src] = -1;
+        seen[src] = generation;
+        open.put(src, key(src, dst, 0));
+        int best = src;
+        int bestH = heuristic(src, dst);
+
+        while (!open.isEmpty()) {
+            int cell = open.poll();
+            if (cell == dst) {
+                best = dst;
+                break;
+            }
+            closed[cell] = generation;
+            ++expanded;
+            int h = heuristic(cell, dst);
+            if (h < bestH) {
+                best = cell;
+                bestH = h;
+            }
+
+            int cluster = graph.clusterOf(cell);
+            int count = graph.getNodeCount(cluster);
+            if (cell == src) {
+                for (int i = 0; i < count; ++i) {
+                    relax(cell, graph.getNode(cluster, i), srcCosts[i], dst);
+                }
+                if (cluster == dstCluster) {
+                    relax(cell, dst, direct, dst);
+                }
+            } else {
+                int slot = graph.getSlot(cell);
+                for (int i = 0; i < count; ++i) {
+                    relax(cell, graph.getNode(cluster, i), graph.getDistance(cluster, slot, i), dst);
+                }
+                if (cluster == dstCluster) {
+                    relax(cell, dst, dstCosts[slot], dst);
+                }
+            }
+
+            /* Crosses into neighboring clusters. */
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                cross(cell, neighbors.cells[i], cluster, dst);
+            }
+        }
+
+        waypointCount = 0;
+        for (int cell = best; cell >= 0; cell = parent[cell]) {
+            ++waypointCount;
+        }
+        int i = waypointCount;
+        for (int cell = best; cell >= 0; cell = parent[cell]) {
+            waypoints[--i] = cell;
+        }
+        waypointCursor = 0;
+    }
+
+    private void cross(int cell, int neighbor, int cluster, int dst) {
+        if (graph.clusterOf(neighbor) != cluster && graph.isTraversable(neighbor)
+                && (graph.getSlot(neighbor) >= 0 || neighbor == dst)) {
+            relax(cell, neighbor, 1, dst);
+        }
+    }
+
+    private void relax(int from, int to, int cost, int dst) {
+        if (cost == ClusterGraph.UNREACHABLE || closed[to] == generation) {
+            return;
+        }
+        int distance = g[from] + cost;
+        if (seen[to] != generation || distance < g[to]) {
+            seen[to] = generation;
+            g[to] = distance;
+            parent[to] = from;
+            open.put(to, key(to, dst, distance));
+        }
+    }
+
+    /** Orders by estimated length, preferring nodes farther along. */
+    private long key(int cell, int dst, int distance) {
+        return ((long)(distance + heuristic(cell, dst)) << 32) - distance;
+    }
+
+    private int heuristic(int cell, int dst) {
+        return Math.abs(cell % dimension - dst % dimension)
+                + Math.abs(cell / dimension - dst / dimension);
+    }
+
+    /** Stores the distances from the last local search to a cluster's nodes. */
+    private void fillCosts(int cluster, int[] costs) {
+        int count = graph.getNodeCount(cluster);
+        for (int i = 0; i < count; ++i) {
+            costs[i] = graph.getLocalDistance(graph.getNode(cluster, i));
+        }
+    }
+
+    /**
+     * Turns the way from a cell to the next waypoint into single moves.
+     *
+     * @return false if the waypoint cannot be reached within a cluster
+     */
+    private boolean refine(int from, int to) {
+        segmentSize = 0;
+        segmentCursor = 0;
+        if (heuristic(from, to) == 1) {
+            segment[segmentSize++] = to;
+            return true;
+        }
+        if (graph.clusterOf(from) != graph.clusterOf(to)) {
+            return false;
+        }
+        graph.searchFrom(to);
+        int distance = graph.getLocalDistance(from);
+        if (distance == ClusterGraph.UNREACHABLE) {
+            return false;
+        }
+
+        /* Walks down the distances towards the waypoint. */
+        int cell = from;
+        while (distance > 0) {
+            int next = -1;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                if (graph.getLocalDistance(neighbors.cells[i]) == distance - 1) {
+                    next = neighbors.cells[i];
+                    break;
+                }
+            }
+            segment[segmentSize++] = next;
+            cell = next;
+            --distance;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices keyed by long priorities. Each cell can be
+ * in the heap at most once and its key can be changed while it is queued. All
+ * storage is allocated up front so that queue operations never allocate.
+ */
+final class IntHeap implements OpenList {
+    private final int[] heap;
+    private final long[] keys;
+    private final int[] slots;
+    private int size;
+
+    /** Creates a heap which can hold the cells of a board with n cells. */
+    IntHeap(int cells) {
+        heap = new int[cells];
+        keys = new long[cells];
+        slots = new int[cells];
+        Arrays.fill(slots, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int cell) {
+        return slots[cell] >= 0;
+    }
+
+    @Override
+    public void put(int cell, long key) {
+        int slot = slots[cell];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = cell;
+            slots[cell] = slot;
+            keys[cell] = key;
+            siftUp(slot);
+        } else {
+            long old = keys[cell];
+            keys[cell] = key;
+            if (key < old) {
+                siftUp(slot);
+            } else if (key > old) {
+                siftDown(slot);
+            }
+        }
+    }
+
+    /** Returns the cell with the smallest key without removing it. */
+    int peek() {
+        return heap[0];
+    }
+
+    /** Returns the smallest key in the heap. */
+    long peekKey() {
+        return keys[heap[0]];
+    }
+
+    @Override
+    public int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    /** Removes a cell from the heap if it is queued. */
+    void remove(int cell) {
+        int slot = slots[cell];
+        if (slot < 0) {
+            return;
+        }
+        slots[cell] = -1;
+        if (slot == --size) {
+            return;
+        }
+        int last = heap[size];
+        heap[slot] = last;
+        slots[last] = slot;
+        siftUp(slot);
+        if (heap[slot] == last) {
+            siftDown(slot);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            slots[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int cell = heap[slot];
+        long key = keys[cell];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            int parentCell = heap[parent];
+            if (keys[parentCell] <= key) {
+                break;
+            }
+            heap[slot] = parentCell;
+            slots[parentCell] = slot;
+            slot = parent;
+        }
+        heap[slot] = cell;
+        slots[cell] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int cell = heap[slot];
+        long key = keys[cell];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int childCell = heap[child];
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[childCell]) {
+                child = right;
+                childCell = heap[child];
+            }
+            if (key <= keys[childCell]) {
+                break;
+            }
+            heap[slot] = childCell;
+            slots[childCell] = slot;
+            slot = child;
+        }
+        heap[slot] = cell;
+        slots[cell] = slot;
+    }
+}
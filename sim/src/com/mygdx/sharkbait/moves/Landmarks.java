@@ -0,0 +1,268 @@
+package com.mygdx.sharkbait.moves;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Landmark (ALT) heuristic for shark searches. Breadth-first distances from a
+ * few landmark cells are stored and, by the triangle inequality,
+ * {@code |d(L, a) - d(L, b)|} is a lower bound on the distance between a and
+ * b for every landmark L.
+ *
+ * <p>The distances are measured over every cell which has been traversable
+ * since the landmarks were placed. As long as every traversable cell is one
+ * of them, the bound still holds. Cells which became blocked only make the
+ * estimate less tight, so they stay measured. When rocks submerge and open
+ * up new cells, distances are repaired outwards from the new cells, which
+ * only touches the cells that got closer to a landmark. The player's cell is
+ * the one exception, since the player stands on a rock; it is reached
+ * through its neighbors instead.
+ *
+ * <p>On boards whose rocks keep changing, most cells are soon measured and
+ * the estimates approach the Manhattan distance. PathfindingBenchmark shows
+ * plain searches to be faster there, so searches use no landmarks unless
+ * they are given some.
+ */
+public final class Landmarks {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Neighbors neighbors;
+    private final int count;
+    private final int[] distances;
+    private final boolean[] relaxed;
+    private final int[] queue;
+    private final boolean[] queued;
+    private final int[] opened;
+    private final int[] targetDistances;
+    private int targetCount;
+    private boolean targetMeasured;
+    private int rockVersion;
+    private boolean valid;
+    private int refreshes;
+    private int repairs;
+
+    /**
+     * Creates landmarks for an n x n board. Landmarks must only be used with
+     * a single board (or snapshots of it).
+     *
+     * @param  dimension the value of n
+     * @param  count the number of landmarks
+     * @throws IllegalArgumentException if count is less than 1
+     */
+    public Landmarks(int dimension, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be 1 or greater");
+        }
+        int cells = dimension * dimension;
+        neighbors = Board.getNeighbors(dimension);
+        this.count = count;
+        distances = new int[cells * count];
+        relaxed = new boolean[cells];
+        queue = new int[cells];
+        queued = new boolean[cells];
+        opened = new int[cells];
+        targetDistances = new int[4 * count];
+    }
+
+    /**
+     * Brings the landmarks up to date with the board and prepares estimates
+     * towards the specified target cell.
+     */
+    void prepare(BoardView board, int target) {
+        if (!valid) {
+            refresh(board);
+        } else if (board.getRockVersion() != rockVersion) {
+            rockVersion = board.getRockVersion();
+            int openedCount = 0;
+            for (int cell = 0; cell < relaxed.length; ++cell) {
+                if (!relaxed[cell] && board.isSharkTraversable(cell)) {
+                    relaxed[cell] = true;
+                    opened[openedCount++] = cell;
+                }
+            }
+            if (openedCount > 0) {
+                for (int k = 0; k < count; ++k) {
+                    repair(k, openedCount);
+                }
+                ++repairs;
+            }
+        }
+
+        /*
+         * A target outside the measured cells is reached through one of its
+         * neighbors, which costs one more move.
+         */
+        targetCount = 0;
+        targetMeasured = relaxed[target];
+        if (targetMeasured) {
+            addTarget(target);
+            return;
+        }
+        for (int i = neighbors.offsets[target], end = neighbors.offsets[target + 1]; i < end; ++i) {
+            addTarget(neighbors.cells[i]);
+        }
+    }
+
+    /**
+     * Returns a lower bound on the distance from a cell to the target of the
+     * last call to {@code prepare}, or 0 if the landmarks say nothing.
+     */
+    int estimate(int cell) {
+        int base = cell * count;
+        int bound = UNREACHABLE;
+        for (int t = 0; t < targetCount; ++t) {
+            int best = 0;
+            for (int k = 0; k < count; ++k) {
+                int a = distances[base + k];
+                int b = targetDistances[t * count + k];
+                if (a != UNREACHABLE && b != UNREACHABLE) {
+                    best = Math.max(best, Math.abs(a - b));
+                }
+            }
+            bound = Math.min(bound, best);
+        }
+        if (bound == UNREACHABLE) {
+            return 0;
+        }
+        return targetMeasured ? bound : bound + 1;
+    }
+
+    /** Returns the number of times the distances were measured from scratch. */
+    public int getRefreshes() {
+        return refreshes;
+    }
+
+    /** Returns the number of times the distances were repaired after cells opened up. */
+    public int getRepairs() {
+        return repairs;
+    }
+
+    private void addTarget(int cell) {
+        if (!relaxed[cell]) {
+            return;
+        }
+        System.arraycopy(distances, cell * count, targetDistances, targetCount * count, count);
+        ++targetCount;
+    }
+
+    /**
+     * Measures distances over the currently traversable cells. Landmarks are
+     * chosen by farthest point selection: each one is the cell farthest from
+     * the landmarks chosen before it.
+     */
+    private void refresh(BoardView board) {
+        int cells = relaxed.length;
+        for (int cell = 0; cell < cells; ++cell) {
+            relaxed[cell] = board.isSharkTraversable(cell);
+        }
+        rockVersion = board.getRockVersion();
+        valid = true;
+        ++refreshes;
+
+        int landmark = -1;
+        for (int cell = 0; cell < cells && landmark < 0; ++cell) {
+            if (relaxed[cell]) {
+                landmark = cell;
+            }
+        }
+        for (int k = 0; k < count; ++k) {
+            if (landmark < 0) {
+                for (int cell = 0; cell < cells; ++cell) {
+                    distances[cell * count + k] = UNREACHABLE;
+                }
+                continue;
+            }
+            bfs(landmark, k);
+
+            /* The next landmark is the cell farthest from all chosen so far. */
+            int farthest = -1;
+            int farthestDistance = 0;
+            for (int cell = 0; cell < cells; ++cell) {
+                int nearest = UNREACHABLE;
+                for (int j = 0; j <= k; ++j) {
+                    nearest = Math.min(nearest, distances[cell * count + j]);
+                }
+                if (nearest != UNREACHABLE && nearest > farthestDistance) {
+                    farthest = cell;
+                    farthestDistance = nearest;
+                }
+            }
+            landmark = farthest;
+        }
+    }
+
+    private void bfs(int source, int k) {
+        int cells = relaxed.length;
+        for (int cell = 0; cell < cells; ++cell) {
+            distances[cell * count + k] = UNREACHABLE;
+        }
+        distances[source * count + k] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distances[cell * count + k] + 1;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                tail = enqueue(neighbors.cells[i], k, next, tail);
+            }
+        }
+    }
+
+    /**
+     * Brings the distances from landmark k up to date after the first
+     * openedCount cells of {@code opened} were added to the measured cells.
+     * Distances only get shorter, so they are lowered from the new cells
+     * outwards until nothing changes.
+     */
+    private void repair(int k, int openedCount) {
+        int cells = relaxed.length;
+        int head = 0;
+        int size = 0;
+        for (int j = 0; j < openedCount; ++j) {
+            int cell = opened[j];
+            int best = UNREACHABLE;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                int d = distances[neighbors.cells[i] * count + k];
+                if (d != UNREACHABLE) {
+                    best = Math.min(best, d + 1);
+                }
+            }
+            if (best != UNREACHABLE) {
+                distances[cell * count + k] = best;
+                queued[cell] = true;
+                queue[size++] = cell;
+            }
+        }
+        while (size > 0) {
+            int cell = queue[head];
+            head = head + 1 == cells ? 0 : head + 1;
+            --size;
+            queued[cell] = false;
+            int next = distances[cell * count + k] + 1;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                int neighbor = neighbors.cells[i];
+                int n = neighbor * count + k;
+                if (relaxed[neighbor] && next < distances[n]) {
+                    distances[n] = next;
+                    if (!queued[neighbor]) {
+                        queued[neighbor] = true;
+                        int tail = head + size;
+                        queue[tail < cells ? tail : tail - cells] = neighbor;
+                        ++size;
+                    }
+                }
+            }
+        }
+    }
+
+    private int enqueue(int cell, int k, int distance, int tail) {
+        int i = cell * count + k;
+        if (distances[i] == UNREACHABLE && relaxed[cell]) {
+            distances[i] = distance;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,508 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.utils.Seeds;
+import com.mygdx.sharkbait.world.BoardView;
+
+/**
+ * Generates moves for the shark with Monte Carlo tree search. Games are
+ * played out on a lightweight copy of the world rules (adjacency, shark
+ * traversability, attacks and random rock changes) against a simple model of
+ * the player.
+ *
+ * <p>The search is root-parallel: every available core grows its own tree
+ * from the current state and the visit counts of the first moves are summed
+ * once the time budget runs out. More cores therefore mean more playouts per
+ * move. The budget is a fraction of the shark's move delay.
+ *
+ * <p>The search runs in the background, so neither {@code compute} nor
+ * {@code getNext} blocks. {@code compute} starts a search and returns at
+ * once; a request made while a search is running cuts that search short and
+ * is served with the board as it is once it stops. {@code getNext} returns
+ * the move of the last finished search if it was planned from the shark's
+ * current cell, and null otherwise. Callers should therefore compute as soon
+ * as the board changes rather than right before the shark moves.
+ *
+ * <p>Each tree draws from its own stream of the seed, renewed for every move.
+ * The number of playouts still depends on the time budget, so only the
+ * random choices themselves are reproducible.
+ */
+public class MctsMove implements Mover {
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    /** Daemon threads shared by all instances. */
+    private static final ExecutorService pool = Executors.newFixedThreadPool(THREADS,
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "Shark search");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    /** Actions are staying put followed by left, right, up and down. */
+    private static final int ACTIONS = 5;
+    private static final int MAX_NODES = 1 << 15;
+    private static final float EXPLORATION = 0.7f;
+    private static final float DISCOUNT = 0.98f;
+
+    private final BoardView board;
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final int surfaceProbability;
+    private final int submergeProbability;
+    private final float rockChangeInterval;
+    private final float budgetFraction;
+    private final long seed;
+    private final List<Worker> workers;
+    private final boolean[] rocks;
+    private final boolean[] allowed;
+    private final long[] visits;
+    private final AtomicInteger remaining;
+    private float rockChangesPerMove;
+    private long budgetNanos;
+    private volatile long deadline;
+    private volatile boolean busy;
+    private volatile Decision published;
+    private boolean pending;
+
+    /* The state searched from, written only while no search is running. */
+    private float searchChangesPerMove;
+    private int goal;
+    private int shark;
+    private int player;
+    private int calls;
+
+    /**
+     * Constructs a move generator.
+     *
+     * @param  board the board to generate moves for
+     * @param  surfaceProbability probability out of 100 of a submerged rock
+     *         surfacing when rocks change
+     * @param  submergeProbability probability out of 100 of a surfaced rock
+     *         submerging when rocks change
+     * @param  rockChangeInterval the time in seconds between rock changes
+     * @param  moveDelay the time in seconds between shark moves
+     * @param  budgetFraction the fraction of the move delay spent searching
+     * @param  seed the seed of the playouts
+     * @throws IllegalArgumentException if rockChangeInterval is not positive
+     *         or budgetFraction is not between 0 and 1
+     */
+    public MctsMove(BoardView board, int surfaceProbability, int submergeProbability,
+            float rockChangeInterval, float moveDelay, float budgetFraction, long seed) {
+        if (rockChangeInterval <= 0) {
+            throw new IllegalArgumentException("Rock change interval must be positive");
+        }
+        if (budgetFraction <= 0 || budgetFraction > 1) {
+            throw new IllegalArgumentException("Budget fraction must be between 0 and 1");
+        }
+        this.board = board;
+        this.surfaceProbability = surfaceProbability;
+        this.submergeProbability = submergeProbability;
+        this.rockChangeInterval = rockChangeInterval;
+        this.budgetFraction = budgetFraction;
+        this.seed = seed;
+        dimension = board.getDimension();
+        neighbors = Board.getNeighbors(dimension);
+        rocks = new boolean[dimension * dimension];
+        allowed = new boolean[ACTIONS];
+        visits = new long[ACTIONS];
+        remaining = new AtomicInteger();
+        workers = new ArrayList<Worker>(THREADS);
+        for (int i = 0; i < THREADS; ++i) {
+            workers.add(new Worker(i));
+        }
+        setMoveDelay(moveDelay);
+    }
+
+    /**
+     * Updates the time in seconds between shark moves, which sets both the
+     * search budget and the number of rock changes per move.
+     */
+    public void setMoveDelay(float moveDelay) {
+        budgetNanos = (long)(moveDelay * budgetFraction * 1e9);
+        rockChangesPerMove = moveDelay / rockChangeInterval;
+    }
+
+    @Override
+    public Position getNext() {
+        submit();
+
+        Decision decision = published;
+        Position sharkPos = board.getSharkPosition();
+        if (decision == null || decision.move < 0
+                || decision.shark != sharkPos.y * dimension + sharkPos.x) {
+            return null;
+        }
+        return Position.of(decision.move % dimension, decision.move / dimension);
+    }
+
+    @Override
+    public void compute() {
+        pending = true;
+        if (busy) {
+            /* The running search plans for a board which has changed. */
+            deadline = System.nanoTime();
+        }
+        submit();
+    }
+
+    /** Returns true if a search is running in the background. */
+    public boolean isBusy() {
+        return busy;
+    }
+
+    /** Starts a search if one was requested and none is running. */
+    private void submit() {
+        if (!pending || busy) {
+            return;
+        }
+        pending = false;
+        busy = true;
+
+        Position goalPos = board.getGoal();
+        Position sharkPos = board.getSharkPosition();
+        Position playerPos = board.getPlayerPosition();
+        goal = goalPos.y * dimension + goalPos.x;
+        shark = sharkPos.y * dimension + sharkPos.x;
+        player = playerPos.y * dimension + playerPos.x;
+        searchChangesPerMove = rockChangesPerMove;
+
+        for (int i = 0; i < rocks.length; ++i) {
+            rocks[i] = i != goal && !board.isSharkTraversable(i);
+        }
+        rocks[player] = player != goal;
+
+        /* Only moves which are possible right now are considered. */
+        allowed[0] = true;
+        for (int a = 1; a < ACTIONS; ++a) {
+            int cell = neighbor(shark, a);
+            allowed[a] = cell >= 0 && board.isSharkTraversable(cell);
+        }
+
+        ++calls;
+        deadline = System.nanoTime() + budgetNanos;
+        remaining.set(workers.size());
+        for (Worker w : workers) {
+            pool.execute(w);
+        }
+    }
+
+    /** Merges the trees and publishes the move. Runs on the last worker to finish. */
+    private void finish() {
+        long playouts = 0;
+        for (int a = 0; a < ACTIONS; ++a) {
+            visits[a] = 0;
+        }
+        for (Worker w : workers) {
+            playouts += w.playouts;
+            for (int a = 0; a < ACTIONS; ++a) {
+                visits[a] += w.rootVisits(a);
+            }
+        }
+        int best = 0;
+        for (int a = 1; a < ACTIONS; ++a) {
+            if (allowed[a] && visits[a] > visits[best]) {
+                best = a;
+            }
+        }
+        published = new Decision(shark, best == 0 ? -1 : neighbor(shark, best), playouts);
+        busy = false;
+    }
+
+    /** Returns the number of playouts of the last computation over all threads. */
+    public long getPlayouts() {
+        Decision decision = published;
+        return decision == null ? 0 : decision.playouts;
+    }
+
+    /** Returns the number of threads searching in parallel. */
+    public int getThreads() {
+        return THREADS;
+    }
+
+    /** Returns the neighbor reached by an action or -1. */
+    private int neighbor(int cell, int action) {
+        int x = cell % dimension;
+        int y = cell / dimension;
+        switch (action) {
+        case 1:
+            return x > 0 ? cell - 1 : -1;
+        case 2:
+            return x < dimension - 1 ? cell + 1 : -1;
+        case 3:
+            return y > 0 ? cell - dimension : -1;
+        case 4:
+            return y < dimension - 1 ? cell + dimension : -1;
+        default:
+            return cell;
+        }
+    }
+
+    private int distance(int a, int b) {
+        return Math.abs(a % dimension - b % dimension) + Math.abs(a / dimension - b / dimension);
+    }
+
+    /**
+     * Grows one search tree. Nodes stand for sequences of shark moves; the
+     * rocks and the player are sampled anew on every descent (open loop).
+     */
+    private class Worker implements Runnable {
+        private final int index;
+        private final Random rand = new Random(0);
+        private final int[] children = new int[MAX_NODES * ACTIONS];
+        private final int[] nodeVisits = new int[MAX_NODES];
+        private final float[] nodeValues = new float[MAX_NODES];
+        private final int[] pathNodes = new int[MAX_NODES];
+        private final boolean[] simRocks = new boolean[dimension * dimension];
+        private final int[] hops = new int[4];
+        private int nodeCount;
+        private int simShark;
+        private int simPlayer;
+        private long playouts;
+
+        Worker(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            try {
+                search();
+            } finally {
+                if (remaining.decrementAndGet() == 0) {
+                    finish();
+                }
+            }
+        }
+
+        private void search() {
+            rand.setSeed(Seeds.derive(seed, calls, index));
+            nodeCount = 1;
+            clearNode(0);
+            playouts = 0;
+            do {
+                for (int i = 0; i < 64; ++i) {
+                    playout();
+                }
+            } while (System.nanoTime() - deadline < 0);
+        }
+
+        int rootVisits(int action) {
+            int child = children[action];
+            return child == 0 ? 0 : nodeVisits[child];
+        }
+
+        private void playout() {
+            System.arraycopy(rocks, 0, simRocks, 0, rocks.length);
+            simShark = shark;
+            simPlayer = player;
+            ++playouts;
+
+            /* Selection and expansion. */
+            int node = 0;
+            int depth = 0;
+            float reward = -1;
+            pathNodes[depth++] = 0;
+            while (reward < 0) {
+                int action = select(node, depth == 1);
+                int child = children[node * ACTIONS + action];
+                boolean expanded = child == 0;
+                if (expanded) {
+                    if (nodeCount == MAX_NODES) {
+                        break;
+                    }
+                    child = nodeCount++;
+                    clearNode(child);
+                    children[node * ACTIONS + action] = child;
+                }
+                reward = step(action, depth);
+                node = child;
+                pathNodes[depth++] = node;
+                if (expanded) {
+                    break;
+                }
+            }
+
+            /* Simulation. */
+            int turn = depth;
+            while (reward < 0) {
+                reward = step(rolloutAction(), turn++);
+            }
+
+            /* Backpropagation. */
+            for (int i = 0; i < depth; ++i) {
+                ++nodeVisits[pathNodes[i]];
+                nodeValues[pathNodes[i]] += reward;
+            }
+        }
+
+        /** Picks an action with the UCB1 rule, trying unvisited ones first. */
+        private int select(int node, boolean root) {
+            float logVisits = (float)Math.log(nodeVisits[node] + 1);
+            int best = 0;
+            float bestScore = Float.NEGATIVE_INFINITY;
+            for (int a = 0; a < ACTIONS; ++a) {
+                if (root && !allowed[a]) {
+                    continue;
+                }
+                int child = children[node * ACTIONS + a];
+                if (child == 0) {
+                    return a;
+                }
+                float n = nodeVisits[child];
+                float score = nodeValues[child] / n
+                        + EXPLORATION * (float)Math.sqrt(logVisits / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = a;
+                }
+            }
+            return best;
+        }
+
+        /** Heads for the player most of the time. */
+        private int rolloutAction() {
+            if (rand.nextInt(4) == 0) {
+                return rand.nextInt(ACTIONS);
+            }
+            int best = 0;
+            int bestDistance = distance(simShark, simPlayer);
+            for (int a = 1; a < ACTIONS; ++a) {
+                int cell = neighbor(simShark, a);
+                if (cell >= 0 && isSharkTraversable(cell)) {
+                    int d = distance(cell, simPlayer);
+                    if (d < bestDistance || d == bestDistance && rand.nextBoolean()) {
+                        bestDistance = d;
+                        best = a;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays out the time between two shark moves.
+         *
+         * @return the reward if the game ended, or -1 otherwise
+         */
+        private float step(int action, int turn) {
+            /* The rules of validateSharkAttack. */
+            if (simPlayer != goal && distance(simShark, simPlayer) == 1) {
+                return (float)Math.pow(DISCOUNT, turn);
+            }
+            if (turn > dimension * 4) {
+                return 0.5f / (1 + distance(simShark, simPlayer));
+            }
+
+            int cell = neighbor(simShark, action);
+            if (cell >= 0 && isSharkTraversable(cell)) {
+                simShark = cell;
+            }
+
+            /* Rock changes happen a fractional number of times per move. */
+            int changes = (int)searchChangesPerMove;
+            if (rand.nextFloat() < searchChangesPerMove - changes) {
+                ++changes;
+            }
+            for (int i = 0; i < changes; ++i) {
+                changeRocks();
+            }
+
+            movePlayer();
+            return simPlayer == goal ? 0 : -1;
+        }
+
+        /** The rules of isSharkTraversable. */
+        private boolean isSharkTraversable(int cell) {
+            return cell != goal && (!simRocks[cell] || cell == simPlayer);
+        }
+
+        /** The rules of changeRocks and correctSurfaced. */
+        private void changeRocks() {
+            for (int i = 0; i < simRocks.length; ++i) {
+                if (simRocks[i]) {
+                    if (rand.nextInt(100) < submergeProbability) {
+                        simRocks[i] = false;
+                    }
+                } else if (rand.nextInt(100) < surfaceProbability) {
+                    simRocks[i] = true;
+                }
+            }
+            simRocks[goal] = false;
+            simRocks[simShark] = false;
+            simRocks[simPlayer] = simPlayer != goal;
+        }
+
+        /**
+         * The player hops to a neighboring rock or the island, preferring hops
+         * which get closer to the island and stay away from the shark.
+         */
+        private void movePlayer() {
+            int count = 0;
+            for (int i = neighbors.offsets[simPlayer], end = neighbors.offsets[simPlayer + 1]; i < end; ++i) {
+                int cell = neighbors.cells[i];
+                if (simRocks[cell] || cell == goal) {
+                    hops[count++] = cell;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            if (rand.nextInt(3) == 0) {
+                simPlayer = hops[rand.nextInt(count)];
+                return;
+            }
+            int best = simPlayer;
+            int bestScore = score(simPlayer);
+            for (int i = 0; i < count; ++i) {
+                int s = score(hops[i]);
+                if (s < bestScore) {
+                    bestScore = s;
+                    best = hops[i];
+                }
+            }
+            simPlayer = best;
+        }
+
+        private int score(int cell) {
+            int score = distance(cell, goal);
+            if (cell != goal && distance(cell, simShark) <= 1) {
+                score += dimension; // Hopping next to the shark is deadly.
+            }
+            return score;
+        }
+
+        private void clearNode(int node) {
+            nodeVisits[node] = 0;
+            nodeValues[node] = 0;
+            for (int a = 0; a < ACTIONS; ++a) {
+                children[node * ACTIONS + a] = 0;
+            }
+        }
+    }
+
+    /** The outcome of a search. */
+    private static class Decision {
+        final int shark;
+        final int move;
+        final long playouts;
+
+        Decision(int shark, int move, long playouts) {
+            this.shark = shark;
+            this.move = move;
+            this.playouts = playouts;
+        }
+    }
+}
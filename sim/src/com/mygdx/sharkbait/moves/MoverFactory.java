@@ -0,0 +1,9 @@
+package com.mygdx.sharkbait.moves;
+
+import com.mygdx.sharkbait.world.BoardView;
+
+/** Creates move generators which plan against a given board. */
+public interface MoverFactory {
+    /** Returns a new move generator for the specified board. */
+    public abstract Mover create(BoardView board);
+}
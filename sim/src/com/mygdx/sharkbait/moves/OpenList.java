@@ -0,0 +1,20 @@
+package com.mygdx.sharkbait.moves;
+
+/**
+ * Priority queue of cell indices used as the open list of a search. Each cell
+ * can be queued at most once and its key can be changed while it is queued.
+ */
+interface OpenList {
+    boolean isEmpty();
+
+    boolean contains(int cell);
+
+    /** Inserts a cell or, if it is already queued, changes its key. */
+    void put(int cell, long key);
+
+    /** Removes and returns a cell with the smallest key. */
+    int poll();
+
+    /** Removes every cell. */
+    void clear();
+}
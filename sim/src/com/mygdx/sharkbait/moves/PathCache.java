@@ -0,0 +1,137 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of shark paths. Paths are keyed by the
+ * hash of the surfaced rocks together with the cells of the shark and the
+ * player, so a board that comes back (for example when the player hops back
+ * and forth between two rocks) reuses the path computed the first time.
+ */
+public class PathCache {
+    private final Map<Key, int[]> paths;
+    private final Key probe;
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    /**
+     * Creates a cache.
+     *
+     * @param  capacity the maximum number of paths kept
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public PathCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be 1 or greater");
+        }
+        paths = new LinkedHashMap<Key, int[]>(capacity * 4 / 3 + 1, 0.75f, true) {
+            private static final long serialVersionUID = 1;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                if (size() > capacity) {
+                    ++evictions;
+                    return true;
+                }
+                return false;
+            }
+        };
+        probe = new Key();
+    }
+
+    /**
+     * Looks up a path. The returned array must not be modified.
+     *
+     * @return the cached path (destination first) or null if there is none
+     */
+    public int[] get(long rockHash, int src, int dst) {
+        probe.set(rockHash, src, dst);
+        int[] path = paths.get(probe);
+        if (path == null) {
+            ++misses;
+        } else {
+            ++hits;
+        }
+        return path;
+    }
+
+    /**
+     * Stores a copy of the first length cells of a path.
+     */
+    public void put(long rockHash, int src, int dst, int[] path, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(path, 0, copy, 0, length);
+        Key key = new Key();
+        key.set(rockHash, src, dst);
+        paths.put(key, copy);
+    }
+
+    /**
+     * Counts a lookup which found a path that turned out to be unusable as a
+     * miss instead of a hit.
+     */
+    void reject(long rockHash, int src, int dst) {
+        probe.set(rockHash, src, dst);
+        paths.remove(probe);
+        --hits;
+        ++misses;
+    }
+
+    /** Removes all paths. Counters are kept. */
+    public void clear() {
+        paths.clear();
+    }
+
+    public int size() {
+        return paths.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "PathCache[size=" + paths.size() + ", hits=" + hits
+                + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+
+    private static class Key {
+        long rockHash;
+        int src;
+        int dst;
+
+        void set(long rockHash, int src, int dst) {
+            this.rockHash = rockHash;
+            this.src = src;
+            this.dst = dst;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int)(rockHash ^ (rockHash >>> 32));
+            result = result * 31 + src;
+            result = result * 31 + dst;
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key k = (Key)obj;
+                return rockHash == k.rockHash && src == k.src && dst == k.dst;
+            }
+            return false;
+        }
+    }
+}
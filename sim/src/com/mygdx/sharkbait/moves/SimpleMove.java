@@ -0,0 +1,69 @@
+package com.mygdx.sharkbait.moves;
+
+import java.util.Random;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardView;
+
+/** Generates moves for the shark based on distance from the player. */
+public class SimpleMove implements Mover {
+    private final BoardView board;
+    private final Random rand;
+    private final int[] candidates;
+    private Position next;
+
+    /**
+     * Constructs a move generator for the specified board which breaks ties
+     * between equally good moves with random numbers from the specified seed.
+     */
+    public SimpleMove(BoardView board, long seed) {
+        this(board, new Random(seed));
+    }
+
+    /**
+     * Constructs a move generator for the specified board which breaks ties
+     * between equally good moves with the specified source of randomness.
+     */
+    public SimpleMove(BoardView board, Random rand) {
+        this.board = board;
+        this.rand = rand;
+        candidates = new int[4];
+    }
+
+    @Override
+    public Position getNext() {
+        return next;
+    }
+
+    @Override
+    public void compute() {
+        int dimension = board.getDimension();
+        Position shark = board.getSharkPosition();
+        Position human = board.getPlayerPosition();
+        Position goal = board.getGoal();
+        int cell = shark.y * dimension + shark.x;
+        int player = human.y * dimension + human.x;
+        int island = goal.y * dimension + goal.x;
+
+        int currentDistanceFromHuman = Board.islandDistance(cell, player, island, dimension);
+
+        Neighbors neighbors = Board.getNeighbors(dimension);
+        int count = 0;
+        for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+            int candidate = neighbors.cells[i];
+            if (board.isSharkTraversable(candidate)
+                    && Board.islandDistance(candidate, player, island, dimension) < currentDistanceFromHuman) {
+                candidates[count++] = candidate;
+            }
+        }
+
+        if (count == 0) {
+            next = null;
+        } else {
+            int chosen = candidates[rand.nextInt(count)];
+            next = Position.of(chosen % dimension, chosen / dimension);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.mygdx.sharkbait.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Board-related utilities. */
+public final class Board {
+    private static final Map<Integer, Neighbors> neighborTables = new HashMap<Integer, Neighbors>();
+
+    private Board() {}
+
+    /**
+     * Returns the neighbor table of an n x n board. Tables are built once per
+     * dimension and shared.
+     */
+    public static Neighbors getNeighbors(int dimension) {
+        synchronized (neighborTables) {
+            Neighbors neighbors = neighborTables.get(dimension);
+            if (neighbors == null) {
+                neighbors = new Neighbors(dimension);
+                neighborTables.put(dimension, neighbors);
+            }
+            return neighbors;
+        }
+    }
+
+    /** Returns the Manhattan distance between a and b. */
+    public static int distanceL1(Position a, Position b) {
+        return Math.abs(b.x - a.x) + Math.abs(b.y - a.y);
+    }
+
+    /** Returns the Euclidean distance between a and b. */
+    public static double distanceL2(Position a, Position b) {
+        return Math.sqrt(Math.pow(b.x - a.x, 2) + Math.pow(b.y - a.y, 2));
+    }
+
+    /**
+     * Returns a list of the positions that are adjacent to a given position.
+     * Allocates a list; grid walks should use {@link #getNeighbors(int)} instead.
+     */
+    public static List<Position> getAdjacent(Position position, int dimension) {
+        List<Position> adjacent = new ArrayList<Position>(4);
+        if (position.x > 0) {
+            adjacent.add(Position.of(position.x - 1, position.y)); // Left.
+        }
+        if (position.x < dimension - 1) {
+            adjacent.add(Position.of(position.x + 1, position.y)); // Right.
+        }
+        if (position.y > 0) { 
+            adjacent.add(Position.of(position.x, position.y - 1)); // Up.
+        }
+        if (position.y < dimension - 1) { 
+            adjacent.add(Position.of(position.x, position.y + 1)); // Down.
+        }
+        return adjacent;
+    }
+
+    /** Returns true if a is horizontally or vertically adjacent to b. */
+    public static boolean isAdjacent(Position a, Position b) {
+        return ((Math.abs(a.x - b.x) == 1 && a.y == b.y)
+                || (Math.abs(a.y - b.y) == 1 && a.x == b.x));
+    }
+
+    /** Returns true if a and b are lined up on opposite sides of c. */
+    public static boolean isObstacle(Position a, Position b, Position c) {
+        return (a.x == c.x && b.x == c.x && a.y < c.y ^ b.y < c.y) 
+                || (a.y == c.y && b.y == c.y && a.x < c.x ^ b.x < c.x);
+    }
+
+    /** Returns the Manhattan distance between cells a and b of an n x n board. */
+    public static int distanceL1(int a, int b, int dimension) {
+        return Math.abs(b % dimension - a % dimension)
+                + Math.abs(b / dimension - a / dimension);
+    }
+
+    /**
+     * Returns true if cells a and b of an n x n board are lined up on opposite
+     * sides of cell c.
+     */
+    public static boolean isObstacle(int a, int b, int c, int dimension) {
+        int ax = a % dimension, ay = a / dimension;
+        int bx = b % dimension, by = b / dimension;
+        int cx = c % dimension, cy = c / dimension;
+        return (ax == cx && bx == cx && ay < cy ^ by < cy)
+                || (ay == cy && by == cy && ax < cx ^ bx < cx);
+    }
+
+    /**
+     * Returns the Manhattan distance between cells a and b of an n x n board,
+     * corrected for the island. The island is never traversable for the shark,
+     * so cells lined up on opposite sides of it are 2 steps further apart.
+     */
+    public static int islandDistance(int a, int b, int island, int dimension) {
+        int distance = distanceL1(a, b, dimension);
+        if (isObstacle(a, b, island, dimension)) {
+            distance += 2;
+        }
+        return distance;
+    }
+
+    /** Receives cells from {@link Neighbors#forEach(int, CellVisitor)}. */
+    public interface CellVisitor {
+        void visit(int cell);
+    }
+
+    /**
+     * Precomputed neighbors of every cell of an n x n board in compressed
+     * sparse row form. The neighbors of cell c (index {@code y * n + x}) are
+     * {@code cells[offsets[c]]} up to but excluding {@code cells[offsets[c + 1]]},
+     * ordered left, right, up, down like {@link Board#getAdjacent}.
+     */
+    public static final class Neighbors {
+        public final int dimension;
+        public final int[] offsets;
+        public final int[] cells;
+
+        private Neighbors(int dimension) {
+            int count = dimension * dimension;
+            this.dimension = dimension;
+            offsets = new int[count + 1];
+            cells = new int[4 * count - 4 * dimension];
+            int i = 0;
+            for (int cell = 0; cell < count; ++cell) {
+                int x = cell % dimension;
+                int y = cell / dimension;
+                offsets[cell] = i;
+                if (x > 0) {
+                    cells[i++] = cell - 1; // Left.
+                }
+                if (x < dimension - 1) {
+                    cells[i++] = cell + 1; // Right.
+                }
+                if (y > 0) {
+                    cells[i++] = cell - dimension; // Up.
+                }
+                if (y < dimension - 1) {
+                    cells[i++] = cell + dimension; // Down.
+                }
+            }
+            offsets[count] = i;
+        }
+
+        /** Passes every neighbor of a cell to the visitor. Does not allocate. */
+        public void forEach(int cell, CellVisitor visitor) {
+            for (int i = offsets[cell], end = offsets[cell + 1]; i < end; ++i) {
+                visitor.visit(cells[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mygdx.sharkbait.utils;
+
+import java.io.Serializable;
+
+/**
+ * Game board coordinates. Positions are immutable and obtained through
+ * {@link #of(int, int)}, which returns a shared instance for every cell of
+ * the boards in use. Positions on a board can therefore be compared with
+ * {@code ==}; positions off every board (negative coordinates, for example)
+ * are not shared and must be compared with {@code equals}.
+ */
+public final class Position implements Serializable {
+    private static final long serialVersionUID = 1;
+
+    /* Coordinates at or beyond this are never shared. */
+    private static final int MAX_SHARED = 512;
+
+    /** Shared instances, indexed [y][x]. Replaced, never modified, when grown. */
+    private static volatile Position[][] shared = grow(new Position[0][0], 16);
+
+    public final int x;
+    public final int y;
+
+    private Position(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /** Returns a position with the specified coordinates. */
+    public static Position of(int x, int y) {
+        Position[][] table = shared;
+        if (x >= 0 && y >= 0) {
+            if (x < table.length && y < table.length) {
+                return table[y][x];
+            }
+            if (x < MAX_SHARED && y < MAX_SHARED) {
+                return reserve(Math.max(x, y) + 1)[y][x];
+            }
+        }
+        return new Position(x, y);
+    }
+
+    /** Returns a position with the same coordinates as another position. */
+    public static Position of(Position another) {
+        return of(another.x, another.y);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = result * 31 + x;
+        result = result * 31 + y;
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof Position) {
+            Position p = (Position)obj;
+            return x == p.x && y == p.y;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+
+    /** Replaces deserialized positions with the shared instance. */
+    private Object readResolve() {
+        return of(x, y);
+    }
+
+    /** Makes sure positions up to the specified width are shared. */
+    private static synchronized Position[][] reserve(int width) {
+        Position[][] table = shared;
+        if (width > table.length) {
+            table = grow(table, Math.min(MAX_SHARED, Integer.highestOneBit(width - 1) << 1));
+            shared = table;
+        }
+        return table;
+    }
+
+    /** Returns a larger table which keeps the instances of the old one. */
+    private static Position[][] grow(Position[][] table, int width) {
+        Position[][] grown = new Position[width][width];
+        for (int y = 0; y < width; ++y) {
+            for (int x = 0; x < width; ++x) {
+                grown[y][x] = y < table.length && x < table.length
+                        ? table[y][x] : new Position(x, y);
+            }
+        }
+        return grown;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mygdx.sharkbait.utils;
+
+/**
+ * Splits one seed into independent streams. A stream is identified by a kind
+ * (what the randomness is for) and an index (such as a level), so that
+ * drawing more or fewer numbers from one stream never shifts another.
+ */
+public final class Seeds {
+    private Seeds() {}
+
+    /**
+     * Returns the seed of a stream.
+     *
+     * @param  seed the seed to split
+     * @param  stream the kind of the stream
+     * @param  index the index of the stream within its kind
+     * @return a seed which is unrelated to the seeds of other streams
+     */
+    public static long derive(long seed, int stream, int index) {
+        return mix(seed + mix((long)stream << 32 | index & 0xFFFFFFFFL));
+    }
+
+    /** Scrambles the bits of a value (the SplitMix64 finalizer). */
+    private static long mix(long z) {
+        z *= 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
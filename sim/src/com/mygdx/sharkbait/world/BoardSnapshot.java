@@ -0,0 +1,91 @@
+package com.mygdx.sharkbait.world;
+
+import com.mygdx.sharkbait.utils.Position;
+
+/**
+ * Immutable copy of a board view. Snapshots can be handed to other threads
+ * since they never change after construction.
+ */
+public final class BoardSnapshot implements BoardView {
+    private final int dimension;
+    private final Position goal;
+    private final Position shark;
+    private final Position player;
+    private final long[] traversable;
+    private final int rockVersion;
+    private final long rockHash;
+    private final long time;
+
+    /** Copies the current state of the specified board. */
+    public BoardSnapshot(BoardView board) {
+        dimension = board.getDimension();
+        goal = board.getGoal();
+        shark = board.getSharkPosition();
+        player = board.getPlayerPosition();
+        rockVersion = board.getRockVersion();
+        rockHash = board.getRockHash();
+        time = System.nanoTime();
+
+        int cells = dimension * dimension;
+        traversable = new long[(cells + 63) >>> 6];
+        for (int i = 0; i < cells; ++i) {
+            if (board.isSharkTraversable(i)) {
+                traversable[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    @Override
+    public Position getGoal() {
+        return goal;
+    }
+
+    @Override
+    public Position getSharkPosition() {
+        return shark;
+    }
+
+    @Override
+    public Position getPlayerPosition() {
+        return player;
+    }
+
+    @Override
+    public boolean isSharkTraversable(Position p) {
+        if (p.x < 0 || p.x >= dimension || p.y < 0 || p.y >= dimension) {
+            return false;
+        }
+        return isSharkTraversable(p.y * dimension + p.x);
+    }
+
+    @Override
+    public boolean isSharkTraversable(int index) {
+        return (traversable[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public int getRockVersion() {
+        return rockVersion;
+    }
+
+    /** Returns -1; a snapshot does not keep the previous rocks. */
+    @Override
+    public int getChangedCells(int[] cells) {
+        return -1;
+    }
+
+    @Override
+    public long getRockHash() {
+        return rockHash;
+    }
+
+    /** Returns the value of {@code System.nanoTime()} when the snapshot was taken. */
+    public long getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mygdx.sharkbait.world;
+
+import com.mygdx.sharkbait.utils.Position;
+
+/**
+ * Read-only view of the board state that move generators plan against. Cells
+ * are identified either by position or by index ({@code y * dimension + x}).
+ */
+public interface BoardView {
+    public abstract int getDimension();
+
+    public abstract Position getGoal();
+
+    public abstract Position getSharkPosition();
+
+    public abstract Position getPlayerPosition();
+
+    /** Returns true if a shark can traverse the specified position. */
+    public abstract boolean isSharkTraversable(Position p);
+
+    /** Returns true if a shark can traverse the cell with the specified index. */
+    public abstract boolean isSharkTraversable(int index);
+
+    /** Returns a counter which changes whenever rocks are changed. */
+    public abstract int getRockVersion();
+
+    /**
+     * Writes the indices of the cells whose rocks changed with the last rock
+     * change to cells, which must have room for every cell of the board.
+     *
+     * @return the number of cells written, or -1 if the board does not know
+     *         which cells changed
+     */
+    public abstract int getChangedCells(int[] cells);
+
+    /**
+     * Returns a 64-bit hash of the set of surfaced rocks. Boards with the same
+     * rocks have the same hash regardless of how they got there.
+     */
+    public abstract long getRockHash();
+}
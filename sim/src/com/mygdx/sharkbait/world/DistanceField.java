@@ -0,0 +1,74 @@
+package com.mygdx.sharkbait.world;
+
+import java.util.Arrays;
+
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Board.Neighbors;
+import com.mygdx.sharkbait.utils.Position;
+
+/**
+ * Breadth-first distances from the player to every cell a shark can reach.
+ * The field is owned by the world, which rebuilds it only when the player
+ * moves or rocks change, so any number of move generators can share it.
+ */
+public final class DistanceField {
+    /** Distance of cells from which the player cannot be reached. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int dimension;
+    private final Neighbors neighbors;
+    private final int[] distances;
+    private final int[] queue;
+
+    DistanceField(int dimension) {
+        int cells = dimension * dimension;
+        this.dimension = dimension;
+        neighbors = Board.getNeighbors(dimension);
+        distances = new int[cells];
+        queue = new int[cells];
+    }
+
+    /** Recomputes the field for the specified root cell. */
+    void rebuild(World world, int root) {
+        Arrays.fill(distances, UNREACHABLE);
+        distances[root] = 0;
+        queue[0] = root;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distances[cell] + 1;
+            for (int i = neighbors.offsets[cell], end = neighbors.offsets[cell + 1]; i < end; ++i) {
+                tail = enqueue(world, neighbors.cells[i], next, tail);
+            }
+        }
+    }
+
+    private int enqueue(World world, int cell, int distance, int tail) {
+        if (distances[cell] == UNREACHABLE && world.isSharkTraversable(cell)) {
+            distances[cell] = distance;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /**
+     * Returns the number of shark moves needed to reach the player from the
+     * cell with the specified index, or {@code UNREACHABLE}.
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Returns the number of shark moves needed to reach the player from the
+     * specified position, or {@code UNREACHABLE}.
+     */
+    public int getDistance(Position p) {
+        return distances[p.y * dimension + p.x];
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+}
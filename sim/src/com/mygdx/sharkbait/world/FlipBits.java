@@ -0,0 +1,56 @@
+package com.mygdx.sharkbait.world;
+
+/**
+ * Random bits for changing rocks many cells at a time. The bits come from a
+ * counter scrambled by {@link #mix(long)}, which is much cheaper than
+ * {@code Random.nextLong} when a great many bits are needed.
+ */
+final class FlipBits {
+    private long state;
+
+    /** Creates a sequence of random bits determined by the seed. */
+    FlipBits(long seed) {
+        state = seed;
+    }
+
+    /** Returns 64 random bits. */
+    long next() {
+        state += 0x9E3779B97F4A7C15L;
+        return mix(state);
+    }
+
+    /**
+     * Returns 64 random bits, each set with a probability of p out of 100
+     * (to 16 bits of precision). The bits of the probability are applied
+     * from the least significant up: a random word is ORed in for every set
+     * bit and ANDed in for every clear one, so each bit of the result is set
+     * if a 16-bit random number is less than the probability.
+     */
+    long bernoulli(int p) {
+        if (p <= 0) {
+            return 0;
+        }
+        if (p >= 100) {
+            return -1L;
+        }
+        int threshold = (p * 65536 + 50) / 100;
+        int bit = Integer.numberOfTrailingZeros(threshold);
+        long mask = next();
+        while (++bit < 16) {
+            if ((threshold & 1 << bit) != 0) {
+                mask |= next();
+            } else {
+                mask &= next();
+            }
+        }
+        return mask;
+    }
+
+    /** Scrambles a value into a well-distributed 64-bit value. */
+    static long mix(long z) {
+        z *= 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
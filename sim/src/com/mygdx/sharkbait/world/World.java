@@ -0,0 +1,632 @@
+package com.mygdx.sharkbait.world;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.mygdx.sharkbait.entities.Island;
+import com.mygdx.sharkbait.entities.Player;
+import com.mygdx.sharkbait.entities.Rock;
+import com.mygdx.sharkbait.entities.Shark;
+import com.mygdx.sharkbait.entities.Timings;
+import com.mygdx.sharkbait.entities.Water;
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+
+/** The game world. */
+public class World implements BoardView, Serializable {
+    private static final long serialVersionUID = 1420091449782982650L;
+    
+    /* Time in seconds driving animations which play in lockstep. */
+    private float clock;
+    /* The rock layer, indexed by cell (y * dimension + x). */
+    private final byte[] rockStates;
+    private final float[] rockTimes;
+    /* Cells whose rocks are surfacing or submerging. */
+    private final int[] animatingRocks;
+    private int animatingCount;
+    private final Map<Position, Powerup> powerups;
+    private final List<Shark> sharks;
+    private final Island island;
+    private final Player player;
+
+    private transient WorldListener listener;
+    private transient Timings timings;
+    private transient List<Water> waterViews;
+    private transient List<Rock> rockViews;
+    /** Surfaced rocks, one bit per cell index ({@code y * dimension + x}). */
+    private final long[] surfaced;
+    private final Position goal;
+    private final Random rand;
+    private final int dimension;
+    private transient long[] previousSurfaced;
+    private transient int[] freeRocks;
+    private transient int[] freeSlots;
+    private transient int freeCount;
+    private transient int rockVersion;
+    private transient long rockHash;
+    private transient boolean rockHashValid;
+    private transient DistanceField distanceField;
+    private transient int distanceFieldRoot;
+    private transient int distanceFieldVersion;
+    
+    /**
+     * Creates a game world based on an n x n board with several sharks and
+     * the timings of the shipped animations. The sharks start out on the
+     * edges of the board, away from the player.
+     * 
+     * @param  dimension the value of n
+     * @param  startSurfacedProbability probability out of 100 of a rock
+     *         starting out surfaced
+     * @param  sharkCount the number of sharks
+     * @param  seed the seed of the rocks and powerup placement
+     * @throws NullPointerException if listener is null
+     * @throws IllegalArgumentException if dimension is less than 3 or
+     *         sharkCount is not between 1 and 4 * dimension - 7
+     */
+    public World(WorldListener listener, int dimension, int startSurfacedProbability,
+            int sharkCount, long seed) {
+        this(listener, dimension, startSurfacedProbability, sharkCount, seed, Timings.DEFAULT);
+    }
+
+    /**
+     * Creates a game world based on an n x n board with several sharks. Worlds
+     * created with the same seed and played the same way play out the same.
+     * 
+     * @param  dimension the value of n
+     * @param  startSurfacedProbability probability out of 100 of a rock
+     *         starting out surfaced
+     * @param  sharkCount the number of sharks
+     * @param  seed the seed of the rocks and powerup placement
+     * @param  timings the timings of the animations the rules wait on
+     * @throws NullPointerException if listener or timings is null
+     * @throws IllegalArgumentException if dimension is less than 3 or
+     *         sharkCount is not between 1 and 4 * dimension - 7
+     */
+    public World(WorldListener listener, int dimension, int startSurfacedProbability,
+            int sharkCount, long seed, Timings timings) {
+        if (listener == null || timings == null) {
+            throw new NullPointerException();
+        }
+        if (dimension < 3) {
+            throw new IllegalArgumentException("Dimension must be 3 or greater");
+        }
+        if (sharkCount < 1 || sharkCount > 4 * dimension - 7) {
+            throw new IllegalArgumentException("Shark count must be between 1 and 4 * dimension - 7");
+        }
+        this.listener = listener;
+        this.timings = timings;
+        this.dimension = dimension;
+
+        rand = new Random(seed);
+        goal = Position.of(dimension / 2, dimension / 2);
+        powerups = new HashMap<Position, Powerup>();
+        island = new Island(goal);
+        player = new Player(Position.of(0, dimension - 1));
+        sharks = new ArrayList<Shark>(sharkCount);
+        spawnSharks(sharkCount);
+
+        int tiles = dimension * dimension;
+        surfaced = new long[(tiles + 63) >>> 6];
+        rockStates = new byte[tiles];
+        rockTimes = new float[tiles];
+        animatingRocks = new int[tiles];
+
+        initialize(startSurfacedProbability);
+    }
+
+    /**
+     * Attaches a listener.
+     * 
+     * @throws NullPointerException if listener is null
+     */
+    public void registerListener(WorldListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        this.listener = listener;
+    }
+
+    /**
+     * Attaches the timings of the animations the rules wait on. Timings are
+     * not saved with the world since they come from the loaded animations.
+     *
+     * @throws NullPointerException if timings is null
+     */
+    public void setTimings(Timings timings) {
+        if (timings == null) {
+            throw new NullPointerException();
+        }
+        this.timings = timings;
+    }
+
+    public Timings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Updates the game world.
+     * 
+     * @param delta elapsed time in seconds
+     */
+    public void update(float delta) {
+        clock += delta;
+
+        animatingCount = Rock.update(rockStates, rockTimes, animatingRocks, animatingCount, delta,
+                timings);
+
+        for (Powerup p : powerups.values()) {
+            p.update(delta);
+        }
+
+        player.update(delta, timings);
+        for (Shark s : sharks) {
+            s.update(delta, timings);
+        }
+
+        checkGoalReached();
+        checkPlayerHit();
+        checkPowerups();
+    }
+
+    /**
+     * Changes rock states.
+     * 
+     * @param surfaceProbability probability out of 100 of a submerged rock
+     *        surfacing
+     * @param submergeProbability probability out of 100 of a surfaced rock
+     *        submerging
+     */
+    public void changeRocks(int surfaceProbability, int submergeProbability) {
+        if (previousSurfaced == null) {
+            previousSurfaced = new long[surfaced.length];
+        }
+        System.arraycopy(surfaced, 0, previousSurfaced, 0, surfaced.length);
+        FlipBits bits = new FlipBits(rand.nextLong());
+
+        /* Flips 64 cells at a time; bits past the last cell are left clear. */
+        int tiles = dimension * dimension;
+        for (int i = 0; i < surfaced.length; ++i) {
+            long word = surfaced[i];
+            long flips = word & bits.bernoulli(submergeProbability)
+                    | ~word & bits.bernoulli(surfaceProbability);
+            int valid = tiles - (i << 6);
+            if (valid < 64) {
+                flips &= (1L << valid) - 1;
+            }
+            surfaced[i] = word ^ flips;
+        }
+
+        correctSurfaced();
+        ++rockVersion;
+
+        /*
+         * Only rocks whose cells changed need a new state. The rock hash is
+         * updated the same way.
+         */
+        int goalIndex = indexOf(goal);
+        for (int i = 0; i < surfaced.length; ++i) {
+            for (long diff = surfaced[i] ^ previousSurfaced[i]; diff != 0; diff &= diff - 1) {
+                int cell = (i << 6) + Long.numberOfTrailingZeros(diff);
+                rockHash ^= FlipBits.mix(cell + 1);
+                updateFreeRock(cell);
+                if (cell == goalIndex) {
+                    continue;
+                }
+                setRockState(cell, isSurfaced(cell) ? Rock.SURFACING : Rock.SUBMERGING);
+            }
+        }
+    }
+
+    /**
+     * Places a powerup on a random open rock if possible.
+     * 
+     * @return {@code true} if a powerup was successfully placed
+     * @throws NullPointerException if powerup is null
+     */
+    public boolean addPowerup(Powerup powerup) {
+        if (powerup == null) {
+            throw new NullPointerException();
+        }
+
+        if (freeSlots == null) {
+            rebuildFreeRocks();
+        }
+
+        /*
+         * The player's rock is kept in the free set since the player moves
+         * without the world noticing. It is skipped when picking instead.
+         */
+        int playerSlot = freeSlots[indexOf(player.getPosition())];
+        int count = playerSlot >= 0 ? freeCount - 1 : freeCount;
+        boolean created = false;
+        if (count > 0) {
+            int slot = rand.nextInt(count);
+            if (playerSlot >= 0 && slot >= playerSlot) {
+                ++slot;
+            }
+            int cell = freeRocks[slot];
+            powerup.setPosition(Position.of(cell % dimension, cell / dimension));
+            powerups.put(powerup.getPosition(), powerup);
+            updateFreeRock(cell);
+            created = true;
+        }
+
+        return created;
+    }
+    
+    /** Returns true if the specified position has a surfaced rock. */
+    public boolean isRock(Position p) {
+        return isSurfaced(indexOf(p));
+    }
+
+    /**
+     * Returns true if the cell with the specified index
+     * ({@code y * dimension + x}) has a surfaced rock.
+     */
+    public boolean isRock(int index) {
+        return isSurfaced(index);
+    }
+    
+    /** Returns true if a shark can traverse the specified position. */
+    @Override
+    public boolean isSharkTraversable(Position p) {
+        int index = indexOf(p);
+        return index >= 0 && isSharkTraversable(index);
+    }
+
+    /**
+     * Returns true if a shark can traverse the cell with the specified index
+     * ({@code y * dimension + x}).
+     */
+    @Override
+    public boolean isSharkTraversable(int index) {
+        return index != goal.y * dimension + goal.x
+                && (!isSurfaced(index) || index == indexOf(player.getPosition()));
+    }
+
+    /** Returns true if the player can move to the specified position. */
+    public boolean validatePlayerMove(Position p) {
+        return (isRock(p) || p.equals(goal))
+                && Board.isAdjacent(player.getPosition(), p);
+    }
+
+    /**
+     * Returns true if the player can move to the cell with the specified
+     * index ({@code y * dimension + x}).
+     */
+    public boolean validatePlayerMove(int index) {
+        int playerIndex = indexOf(player.getPosition());
+        int dx = Math.abs(index % dimension - playerIndex % dimension);
+        int dy = Math.abs(index / dimension - playerIndex / dimension);
+        return (isSurfaced(index) || index == goal.y * dimension + goal.x) && dx + dy == 1;
+    }
+
+    /** Returns true if the first shark can attack the specified position. */
+    public boolean validateSharkAttack(Position p) {
+        return validateSharkAttack(getShark(), p);
+    }
+
+    /** Returns true if a shark can attack the specified position. */
+    public boolean validateSharkAttack(Shark shark, Position p) {
+        return !p.equals(goal) && Board.isAdjacent(p, shark.getPosition());
+    }
+
+    /** Returns views of the water of every cell. */
+    public Collection<Water> getWater() {
+        if (waterViews == null) {
+            List<Water> views = new ArrayList<Water>(rockStates.length);
+            for (int cell = 0; cell < rockStates.length; ++cell) {
+                views.add(new Water(this, cell));
+            }
+            waterViews = Collections.unmodifiableList(views);
+        }
+        return waterViews;
+    }
+
+    /** Returns views of the rock of every cell but the island's. */
+    public Collection<Rock> getRocks() {
+        if (rockViews == null) {
+            int goalIndex = indexOf(goal);
+            List<Rock> views = new ArrayList<Rock>(rockStates.length - 1);
+            for (int cell = 0; cell < rockStates.length; ++cell) {
+                if (cell != goalIndex) {
+                    views.add(new Rock(this, cell));
+                }
+            }
+            rockViews = Collections.unmodifiableList(views);
+        }
+        return rockViews;
+    }
+
+    /**
+     * Returns the world clock in seconds: the time the world has been updated
+     * for. Animations which play in lockstep everywhere, such as the water,
+     * are driven by it.
+     */
+    public float getClock() {
+        return clock;
+    }
+
+    /** Returns the state of the rock of a cell, such as {@link Rock#SURFACED}. */
+    public int getRockState(int cell) {
+        return rockStates[cell];
+    }
+
+    /** Sets the state of the rock of a cell. */
+    public void setRockState(int cell, int state) {
+        if (isAnimating(state) && !isAnimating(rockStates[cell])) {
+            animatingRocks[animatingCount++] = cell;
+        } else if (!isAnimating(state) && isAnimating(rockStates[cell])) {
+            /* Rare, since animations normally settle rocks. */
+            for (int i = 0; i < animatingCount; ++i) {
+                if (animatingRocks[i] == cell) {
+                    animatingRocks[i] = animatingRocks[--animatingCount];
+                    break;
+                }
+            }
+            rockTimes[cell] = 0;
+        }
+        rockStates[cell] = (byte)state;
+    }
+
+    /** Returns the time in seconds the rock of a cell has been in its state. */
+    public float getRockTime(int cell) {
+        return rockTimes[cell];
+    }
+
+    public Collection<Powerup> getPowerups() {
+        return Collections.unmodifiableCollection(powerups.values());
+    }
+
+    /**
+     * Returns a counter which changes whenever rocks are changed. Move
+     * generators can compare it with a previously seen value to find out
+     * whether the board has to be examined again.
+     */
+    @Override
+    public int getRockVersion() {
+        return rockVersion;
+    }
+
+    @Override
+    public int getChangedCells(int[] cells) {
+        if (previousSurfaced == null) {
+            return -1;
+        }
+        int count = 0;
+        for (int i = 0; i < surfaced.length; ++i) {
+            for (long diff = surfaced[i] ^ previousSurfaced[i]; diff != 0; diff &= diff - 1) {
+                cells[count++] = (i << 6) + Long.numberOfTrailingZeros(diff);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getRockHash() {
+        if (!rockHashValid) {
+            long hash = 0;
+            for (int i = 0; i < surfaced.length; ++i) {
+                for (long word = surfaced[i]; word != 0; word &= word - 1) {
+                    hash ^= FlipBits.mix((i << 6) + Long.numberOfTrailingZeros(word) + 1);
+                }
+            }
+            rockHash = hash;
+            rockHashValid = true;
+        }
+        return rockHash;
+    }
+
+    /**
+     * Returns the distances from the player to every cell that a shark can
+     * reach. The field is rebuilt only if the player has moved or rocks have
+     * changed since it was last requested.
+     */
+    public DistanceField getDistanceField() {
+        Position p = player.getPosition();
+        int root = p.y * dimension + p.x;
+        if (distanceField == null) {
+            distanceField = new DistanceField(dimension);
+        } else if (distanceFieldRoot == root && distanceFieldVersion == rockVersion) {
+            return distanceField;
+        }
+        distanceField.rebuild(this, root);
+        distanceFieldRoot = root;
+        distanceFieldVersion = rockVersion;
+        return distanceField;
+    }
+
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    @Override
+    public Position getGoal() {
+        return goal;
+    }
+
+    @Override
+    public Position getSharkPosition() {
+        return getShark().getPosition();
+    }
+
+    @Override
+    public Position getPlayerPosition() {
+        return player.getPosition();
+    }
+
+    public Island getIsland() {
+        return island;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /** Returns the first shark. */
+    public Shark getShark() {
+        return sharks.get(0);
+    }
+
+    /** Returns every shark. The list cannot be modified. */
+    public List<Shark> getSharks() {
+        return Collections.unmodifiableList(sharks);
+    }
+
+    private void checkGoalReached() {
+        if (player.getPosition().equals(goal)
+                && player.getState() == Player.IDLE) {
+            player.restore(); // Done to remove transparency effect.
+            listener.levelEnd();
+        }
+    }
+
+    private void checkPlayerHit() {
+        for (Shark s : sharks) {
+            if (s.getState() == Shark.ATTACKED
+                    && Board.isAdjacent(s.getPosition(), player.getPosition())
+                    && player.getState() == Player.IDLE
+                    && !player.isInvincible()) {
+                player.hit();
+                listener.playerHit();
+                return;
+            }
+        }
+    }
+
+    private void checkPowerups() {
+        Powerup p = powerups.get(player.getPosition());
+        if (p != null && player.getState() == Player.IDLE) {
+            listener.powerupFound(powerups.remove(p.getPosition()));
+            updateFreeRock(indexOf(p.getPosition()));
+        }
+    }
+
+    private static boolean isAnimating(int rockState) {
+        return rockState == Rock.SURFACING || rockState == Rock.SUBMERGING;
+    }
+
+    /** Returns the index of a position, or -1 if it is off the board. */
+    private int indexOf(Position p) {
+        if (p.x < 0 || p.x >= dimension || p.y < 0 || p.y >= dimension) {
+            return -1;
+        }
+        return p.y * dimension + p.x;
+    }
+
+    private boolean isSurfaced(int index) {
+        return index >= 0 && (surfaced[index >>> 6] & 1L << index) != 0;
+    }
+
+    private void setSurfaced(int index) {
+        if (index >= 0) {
+            surfaced[index >>> 6] |= 1L << index;
+        }
+    }
+
+    private void clearSurfaced(int index) {
+        if (index >= 0) {
+            surfaced[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Adds a cell to the set of free rocks or removes it, depending on
+     * whether it has a surfaced rock without a powerup. A removed cell's slot
+     * is filled with the last free rock.
+     */
+    private void updateFreeRock(int cell) {
+        if (freeSlots == null) {
+            return; // Rebuilt when next needed.
+        }
+        boolean free = isSurfaced(cell)
+                && !powerups.containsKey(Position.of(cell % dimension, cell / dimension));
+        int slot = freeSlots[cell];
+        if (free && slot < 0) {
+            freeSlots[cell] = freeCount;
+            freeRocks[freeCount++] = cell;
+        } else if (!free && slot >= 0) {
+            int last = freeRocks[--freeCount];
+            freeRocks[slot] = last;
+            freeSlots[last] = slot;
+            freeSlots[cell] = -1;
+        }
+    }
+
+    private void rebuildFreeRocks() {
+        int tiles = dimension * dimension;
+        freeRocks = new int[tiles];
+        freeSlots = new int[tiles];
+        Arrays.fill(freeSlots, -1);
+        freeCount = 0;
+        for (int cell = 0; cell < tiles; ++cell) {
+            updateFreeRock(cell);
+        }
+    }
+
+    private void correctSurfaced() {
+        clearSurfaced(indexOf(goal));
+        for (Shark s : sharks) {
+            clearSurfaced(indexOf(s.getPosition()));
+            if (s.getState() == Shark.MOVING) {
+                clearSurfaced(indexOf(s.getPreviousPosition()));
+            }
+        }
+        setSurfaced(indexOf(player.getPosition()));
+        for (Position p : powerups.keySet()) {
+            setSurfaced(indexOf(p));
+        }
+    }
+
+    /**
+     * Places sharks on the edges of the board. The corners away from the
+     * player are used first and cells next to the player are never used.
+     */
+    private void spawnSharks(int count) {
+        int last = dimension - 1;
+        List<Position> spawns = new ArrayList<Position>(4 * last);
+        spawns.add(Position.of(last, last));
+        spawns.add(Position.of(last, 0));
+        spawns.add(Position.of(0, 0));
+        for (int i = 1; i < last; ++i) {
+            spawns.add(Position.of(last, i));
+            spawns.add(Position.of(i, 0));
+            spawns.add(Position.of(0, i));
+            spawns.add(Position.of(i, last));
+        }
+        for (Position p : spawns) {
+            if (sharks.size() == count) {
+                break;
+            }
+            if (!Board.isAdjacent(p, player.getPosition())) {
+                sharks.add(new Shark(p, 1));
+            }
+        }
+    }
+
+    private void initialize(int startSurfacedProbability) {
+        int tiles = dimension * dimension;
+        for (int cell = 0; cell < tiles; ++cell) {
+            if (rand.nextInt(100) < startSurfacedProbability) {
+                setSurfaced(cell);
+            }
+        }
+
+        correctSurfaced();
+
+        for (int cell = 0; cell < tiles; ++cell) {
+            if (isSurfaced(cell)) {
+                rockStates[cell] = Rock.SURFACED;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mygdx.sharkbait.moves;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.World;
+import com.mygdx.sharkbait.world.WorldListener;
+
+public class AStarMoveTest {
+    private static final int BOARDS = 500;
+
+    @Test
+    public void unfinishedSearchHeadsForTheBestCellSoFar() {
+        Random rand = new Random(1);
+        for (int i = 0; i < BOARDS; ++i) {
+            long seed = rand.nextLong();
+            World world = createWorld(seed);
+            int dimension = world.getDimension();
+            int budget = 2 + rand.nextInt(4);
+            AStarMove mover = new AStarMove(world, budget, 0);
+            mover.compute();
+            if (!mover.isSearching()) {
+                continue;
+            }
+
+            AStarSearch search = new AStarSearch(dimension);
+            search.begin(world, cellOf(world.getSharkPosition(), dimension),
+                    cellOf(world.getPlayerPosition(), dimension));
+            search.resume(budget, 0);
+            int[] path = new int[dimension * dimension];
+            int size = search.tracePath(path);
+
+            Position next = mover.getNext();
+            if (size == 0) {
+                assertEquals("seed " + seed, null, next);
+            } else {
+                Position expected = Position.of(path[size - 1] % dimension, path[size - 1] / dimension);
+                assertEquals("seed " + seed, expected, next);
+                assertTrue("seed " + seed, Board.isAdjacent(world.getSharkPosition(), next));
+            }
+        }
+    }
+
+    @Test
+    public void unfinishedPathIsTracedOnce() {
+        World world = new World(new NullListener(), 11, 0, 1, 1);
+        AStarMove mover = new AStarMove(world, 3, 0);
+        mover.compute();
+        assertTrue(mover.isSearching());
+
+        Position first = mover.getNext();
+        assertTrue(Board.isAdjacent(world.getSharkPosition(), first));
+        assertFalse(mover.isSearching());
+        assertNotEquals(first, mover.getNext());
+    }
+
+    @Test
+    public void resumedSearchEndsWithTheUnbudgetedPath() {
+        Random rand = new Random(2);
+        for (int i = 0; i < BOARDS; ++i) {
+            long seed = rand.nextLong();
+            World world = createWorld(seed);
+            AStarMove budgeted = new AStarMove(world, 1 + rand.nextInt(5), 0);
+            budgeted.compute();
+            while (budgeted.isSearching()) {
+                budgeted.resume();
+            }
+            AStarMove unbudgeted = new AStarMove(world);
+            unbudgeted.compute();
+            assertEquals("seed " + seed, moves(unbudgeted), moves(budgeted));
+        }
+    }
+
+    /** Creates a board whose size, rocks and rock changes follow from the seed. */
+    private static World createWorld(long seed) {
+        Random rand = new Random(seed);
+        int dimension = 5 + rand.nextInt(20);
+        World world = new World(new NullListener(), dimension, rand.nextInt(60), 1, seed);
+        for (int changes = rand.nextInt(4); changes > 0; --changes) {
+            world.changeRocks(rand.nextInt(101), rand.nextInt(101));
+        }
+        return world;
+    }
+
+    private static int cellOf(Position p, int dimension) {
+        return p.y * dimension + p.x;
+    }
+
+    private static List<Position> moves(Mover mover) {
+        List<Position> moves = new ArrayList<Position>();
+        for (Position p; (p = mover.getNext()) != null;) {
+            moves.add(p);
+        }
+        return moves;
+    }
+
+    private static class NullListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup powerup) {}
+
+        @Override
+        public void playerHit() {}
+
+        @Override
+        public void levelEnd() {}
+    }
+}
@@ -0,0 +1,266 @@
+package com.mygdx.sharkbait.moves;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.BoardView;
+import com.mygdx.sharkbait.world.World;
+import com.mygdx.sharkbait.world.WorldListener;
+
+/**
+ * Compares {@link AStarSearch} with the position-based search AStarMove used
+ * to carry out, which is kept below as a reference.
+ */
+public class AStarSearchTest {
+    private static final int BOARDS = 2000;
+
+    @Test
+    public void findsTheSamePathsAsTheOriginalSearch() {
+        Random rand = new Random(1);
+        Map<Integer, AStarSearch> searches = new HashMap<Integer, AStarSearch>();
+        for (int i = 0; i < BOARDS; ++i) {
+            long seed = rand.nextLong();
+            World world = createWorld(seed);
+            int dimension = world.getDimension();
+
+            /* Searches are reused so stale state from earlier boards would show. */
+            AStarSearch search = searches.get(dimension);
+            if (search == null) {
+                search = new AStarSearch(dimension);
+                searches.put(dimension, search);
+            }
+            Position src = sourceOf(world, seed);
+            Position dst = world.getPlayerPosition();
+            assertEquals("seed " + seed, referencePath(world, src, dst),
+                    path(search, world, src, dst));
+        }
+    }
+
+    @Test
+    public void moverFollowsTheOriginalPath() {
+        Random rand = new Random(2);
+        for (int i = 0; i < BOARDS; ++i) {
+            long seed = rand.nextLong();
+            World world = createWorld(seed);
+            AStarMove mover = new AStarMove(world);
+            mover.compute();
+            List<Position> moves = new ArrayList<Position>();
+            for (Position p; (p = mover.getNext()) != null;) {
+                moves.add(0, p);
+            }
+            assertEquals("seed " + seed, referencePath(world,
+                    world.getSharkPosition(), world.getPlayerPosition()), moves);
+        }
+    }
+
+    /**
+     * The heap breaks ties differently, so only the length of a path to the
+     * destination and how close a fallback path gets are compared.
+     */
+    @Test
+    public void binaryHeapFindsEquallyGoodPaths() {
+        Random rand = new Random(3);
+        for (int i = 0; i < BOARDS; ++i) {
+            long seed = rand.nextLong();
+            World world = createWorld(seed);
+            AStarSearch search = new AStarSearch(world.getDimension(), AStarSearch.BINARY_HEAP);
+            Position src = sourceOf(world, seed);
+            Position dst = world.getPlayerPosition();
+            List<Position> expected = referencePath(world, src, dst);
+            List<Position> actual = path(search, world, src, dst);
+            if (!expected.isEmpty() && expected.get(0).equals(dst)) {
+                assertEquals("seed " + seed, expected.size(), actual.size());
+                assertEquals("seed " + seed, dst, actual.get(0));
+            } else {
+                assertEquals("seed " + seed, closeness(world, src, expected, dst),
+                        closeness(world, src, actual, dst));
+            }
+        }
+    }
+
+    /** Creates a board whose size, rocks and rock changes follow from the seed. */
+    private static World createWorld(long seed) {
+        Random rand = new Random(seed);
+        int dimension = 3 + rand.nextInt(20);
+        World world = new World(new NullListener(), dimension, rand.nextInt(80), 1, seed);
+        for (int changes = rand.nextInt(4); changes > 0; --changes) {
+            world.changeRocks(rand.nextInt(101), rand.nextInt(101));
+        }
+        return world;
+    }
+
+    /** Returns the shark's position or, for every other seed, any cell. */
+    private static Position sourceOf(World world, long seed) {
+        if ((seed & 1) == 0) {
+            return world.getSharkPosition();
+        }
+        int dimension = world.getDimension();
+        int cell = (int)((seed >>> 1) % (dimension * dimension));
+        return Position.of(cell % dimension, cell / dimension);
+    }
+
+    /** Returns how far from the destination a path ends, the island considered. */
+    private static int closeness(BoardView board, Position src, List<Position> path,
+            Position dst) {
+        int dimension = board.getDimension();
+        Position end = path.isEmpty() ? src : path.get(0);
+        Position goal = board.getGoal();
+        return Board.islandDistance(end.y * dimension + end.x, dst.y * dimension + dst.x,
+                goal.y * dimension + goal.x, dimension);
+    }
+
+    /** Returns the path found by the search, destination first. */
+    private static List<Position> path(AStarSearch search, BoardView board, Position src,
+            Position dst) {
+        int dimension = board.getDimension();
+        int[] cells = new int[dimension * dimension];
+        int size = search.search(board, src.y * dimension + src.x, dst.y * dimension + dst.x, cells);
+        List<Position> path = new ArrayList<Position>(size);
+        for (int i = 0; i < size; ++i) {
+            path.add(Position.of(cells[i] % dimension, cells[i] / dimension));
+        }
+        return path;
+    }
+
+    /**
+     * The search of the original AStarMove, destination first. Only the open
+     * list is new: the library map it used is not part of the project, so
+     * ties in f are broken last in, first out like the game's search does.
+     */
+    private static List<Position> referencePath(BoardView board, Position src, Position dst) {
+        LifoPriorityMap<Position, AStarNode> open = new LifoPriorityMap<Position, AStarNode>();
+        Set<Position> closed = new HashSet<Position>();
+
+        AStarNode start = new AStarNode(src, null, 0, 0, Board.distanceL1(src, dst));
+        AStarNode best = start;
+
+        open.put(start.position, start);
+
+        while (!open.isEmpty()) {
+            AStarNode current = open.peekValue();
+            open.remove();
+            if (current.position.equals(dst)) {
+                best = current;
+                break;
+            }
+            if (Board.isObstacle(current.position, dst, board.getGoal())) {
+                current.h += 2;
+            }
+            if (current.h < best.h) {
+                best = current;
+            }
+            closed.add(current.position);
+            for (Position p : Board.getAdjacent(current.position, board.getDimension())) {
+                if (closed.contains(p) || !board.isSharkTraversable(p)) {
+                    continue;
+                }
+                int gTentative = current.g + 1;
+                AStarNode neighbor = open.get(p);
+                if (neighbor == null || gTentative < neighbor.g) {
+                    int h = Board.distanceL1(p, dst);
+                    open.put(p, new AStarNode(p, current, gTentative + h, gTentative, h));
+                }
+            }
+        }
+
+        List<Position> path = new ArrayList<Position>();
+        for (AStarNode node = best; node.prev != null; node = node.prev) {
+            path.add(node.position);
+        }
+        return path;
+    }
+
+    private static class AStarNode implements Comparable<AStarNode> {
+        AStarNode prev;
+        Position position;
+        int f, g, h;
+
+        AStarNode(Position position, AStarNode prev, int f, int g, int h) {
+            this.position = position;
+            this.prev = prev;
+            this.f = f;
+            this.g = g;
+            this.h = h;
+        }
+
+        @Override
+        public int compareTo(AStarNode other) {
+            if (f < other.f) {
+                return -1;
+            }
+            if (f > other.f) {
+                return 1;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Map with the interface of the original open list. Of the smallest
+     * values, the one put last comes first; putting a key again moves it to
+     * the front.
+     */
+    private static class LifoPriorityMap<K, V extends Comparable<V>> {
+        private final LinkedList<K> keys = new LinkedList<K>();
+        private final Map<K, V> values = new HashMap<K, V>();
+
+        void put(K key, V value) {
+            if (values.put(key, value) != null) {
+                keys.remove(key);
+            }
+            keys.addFirst(key);
+        }
+
+        V get(K key) {
+            return values.get(key);
+        }
+
+        boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        V peekValue() {
+            return values.get(peekKey());
+        }
+
+        void remove() {
+            K key = peekKey();
+            keys.remove(key);
+            values.remove(key);
+        }
+
+        private K peekKey() {
+            K min = null;
+            for (K key : keys) {
+                if (min == null || values.get(key).compareTo(values.get(min)) < 0) {
+                    min = key;
+                }
+            }
+            return min;
+        }
+    }
+
+    private static class NullListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup powerup) {}
+
+        @Override
+        public void playerHit() {}
+
+        @Override
+        public void levelEnd() {}
+    }
+}
@@ -0,0 +1,45 @@
+package com.mygdx.sharkbait.moves;
+
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.World;
+import com.mygdx.sharkbait.world.WorldListener;
+
+public class FlowFieldMoveTest {
+    private static final int DIMENSION = 11;
+
+    /**
+     * The player is on the island as soon as he starts hopping onto it. A shark
+     * next to the island must not follow him there.
+     */
+    @Test
+    public void doesNotMoveOntoTheIslandWhenThePlayerHopsOntoIt() {
+        for (int side = 0; side < 4; ++side) {
+            World world = new World(new NullListener(), DIMENSION, 0, 1, side);
+            Position goal = world.getGoal();
+            Position shark = Board.getAdjacent(goal, DIMENSION).get(side);
+            world.getShark().move(shark);
+            world.getPlayer().move(goal);
+
+            FlowFieldMove mover = new FlowFieldMove(world, side);
+            mover.compute();
+            assertNull("shark at " + shark, mover.getNext());
+        }
+    }
+
+    private static class NullListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup powerup) {}
+
+        @Override
+        public void playerHit() {}
+
+        @Override
+        public void levelEnd() {}
+    }
+}
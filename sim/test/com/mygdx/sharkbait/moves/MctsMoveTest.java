@@ -0,0 +1,68 @@
+package com.mygdx.sharkbait.moves;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Board;
+import com.mygdx.sharkbait.utils.Position;
+import com.mygdx.sharkbait.world.World;
+import com.mygdx.sharkbait.world.WorldListener;
+
+public class MctsMoveTest {
+    @Test
+    public void searchesInTheBackground() throws InterruptedException {
+        World world = new World(new NullListener(), 11, 30, 1, 1);
+        MctsMove mover = new MctsMove(world, 50, 50, 2, 1, 0.5f, 1);
+
+        long start = System.nanoTime();
+        mover.compute();
+        assertTrue((System.nanoTime() - start) / 1e6 < 250);
+        assertTrue(mover.isBusy());
+        assertNull(mover.getNext());
+
+        waitFor(mover);
+        Position next = mover.getNext();
+        assertTrue(mover.getPlayouts() > 0);
+        assertTrue(next == null || Board.isAdjacent(world.getSharkPosition(), next)
+                && world.isSharkTraversable(next));
+    }
+
+    @Test
+    public void movePlannedFromAnotherCellIsNotServed() throws InterruptedException {
+        World world = new World(new NullListener(), 11, 0, 1, 2);
+        MctsMove mover = new MctsMove(world, 50, 50, 2, 0.2f, 0.5f, 2);
+        mover.compute();
+        waitFor(mover);
+        Position next = mover.getNext();
+        assertTrue(next != null);
+
+        world.getShark().move(next);
+        assertNull(mover.getNext());
+        mover.compute();
+        waitFor(mover);
+        Position after = mover.getNext();
+        assertTrue(after != null && Board.isAdjacent(next, after));
+    }
+
+    private static void waitFor(MctsMove mover) throws InterruptedException {
+        for (int i = 0; i < 500 && mover.isBusy(); ++i) {
+            Thread.sleep(10);
+        }
+        assertFalse(mover.isBusy());
+    }
+
+    private static class NullListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup powerup) {}
+
+        @Override
+        public void playerHit() {}
+
+        @Override
+        public void levelEnd() {}
+    }
+}
@@ -0,0 +1,37 @@
+package com.mygdx.sharkbait.world;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.mygdx.sharkbait.powerups.Powerup;
+import com.mygdx.sharkbait.utils.Position;
+
+public class BoardSnapshotTest {
+    @Test
+    public void agreesWithTheWorldOnAndOffTheBoard() {
+        for (long seed = 0; seed < 20; ++seed) {
+            World world = new World(new NullListener(), 11, 50, 1, seed);
+            world.changeRocks(50, 50);
+            BoardSnapshot snapshot = new BoardSnapshot(world);
+            for (int y = -2; y < 13; ++y) {
+                for (int x = -2; x < 13; ++x) {
+                    Position p = Position.of(x, y);
+                    assertEquals(p.toString(), world.isSharkTraversable(p),
+                            snapshot.isSharkTraversable(p));
+                }
+            }
+        }
+    }
+
+    private static class NullListener implements WorldListener {
+        @Override
+        public void powerupFound(Powerup powerup) {}
+
+        @Override
+        public void playerHit() {}
+
+        @Override
+        public void levelEnd() {}
+    }
+}